@@ -0,0 +1,78 @@
+package com.anthony.platformer;
+
+import com.anthony.platformer.data.GameConfig;
+
+import java.util.Arrays;
+
+/**
+ * Synthetic levels for the benchmarks: stacked full-width floors with enemy spawns spread along
+ * them, so the enemy count can be dialed without touching the shipped levels.
+ */
+final class Arenas {
+
+    static final int COLS = 256;
+
+    // Floor row, then this many open rows above it (the enemies' headroom)
+    private static final int FLOOR_SPACING = 4;
+
+    // A spawn every this many columns along a floor
+    private static final int SPAWN_SPACING = 4;
+
+    private Arenas() {}
+
+    /**
+     * Layout (row 0 = bottom) with exactly {@code enemyCount} spawns, bottom floor first.
+     */
+    static String[] layout(int enemyCount) {
+        int spawnsPerFloor = (COLS - 2) / SPAWN_SPACING;
+        int floors = Math.max(1, (enemyCount + spawnsPerFloor - 1) / spawnsPerFloor);
+        int rows = floors * FLOOR_SPACING + FLOOR_SPACING;
+
+        char[][] cells = new char[rows][COLS];
+
+        int row = 0;
+        while (row < rows) {
+            char fill = row % FLOOR_SPACING == 0 && row < floors * FLOOR_SPACING ? '#' : '.';
+            Arrays.fill(cells[row], fill);
+            row = row + 1;
+        }
+
+        int placed = 0;
+        int floor = 0;
+        while (placed < enemyCount) {
+            int col = 2 + (placed % spawnsPerFloor) * SPAWN_SPACING;
+            cells[floor * FLOOR_SPACING + 1][col] = 'e';
+
+            placed = placed + 1;
+            if (placed % spawnsPerFloor == 0) {
+                floor = floor + 1;
+            }
+        }
+
+        String[] layout = new String[rows];
+        row = 0;
+        while (row < rows) {
+            layout[row] = new String(cells[row]);
+            row = row + 1;
+        }
+        return layout;
+    }
+
+    /**
+     * A World on an arena with {@code enemyCount} enemies, every one of them awake at full rate
+     * (the view covers the whole arena).
+     */
+    static World world(int enemyCount) {
+        String[] layout = layout(enemyCount);
+
+        LevelRegistry registry = new LevelRegistry();
+        registry.add(new LevelInfo(1, () -> layout, 1, 1, -1, -1));
+
+        World world = new World(registry, 1);
+        world.setView(0f, 0f, world.getWorldWidthPixels(), world.getWorldHeightPixels());
+
+        // One tick to settle everyone onto the floors and sort them into tiers
+        world.step(1f / GameConfig.SIM_TICKS_PER_SECOND, new InputState());
+        return world;
+    }
+}
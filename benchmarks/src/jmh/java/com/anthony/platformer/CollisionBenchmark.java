@@ -0,0 +1,124 @@
+package com.anthony.platformer;
+
+import com.anthony.platformer.data.GameConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Tile collision: swept player and enemy boxes against a shipped level, the World's own player
+ * move, and the batch enemy fall.
+ */
+@State(Scope.Thread)
+public class CollisionBenchmark {
+
+    private static final int BOXES = 1024;
+    private static final float TICK_SECONDS = 1f / GameConfig.SIM_TICKS_PER_SECOND;
+
+    @Param({"1", "4"})
+    public int levelNumber;
+
+    // How far each swept box moves, in tiles
+    @Param({"1", "8"})
+    public int moveTiles;
+
+    private final TileCollider collider = new TileCollider();
+    private World world;
+
+    // Fixed pseudo-random boxes (player-sized) and moves
+    private final float[] x = new float[BOXES];
+    private final float[] y = new float[BOXES];
+    private final float[] dx = new float[BOXES];
+    private final float[] dy = new float[BOXES];
+
+    // Batch fall: the bodies' starting state, copied in before every pass
+    private final float[] fallStartY = new float[BOXES];
+    private final float[] fallY = new float[BOXES];
+    private final float[] fallVelocityY = new float[BOXES];
+    private final float[] fallWidth = new float[BOXES];
+    private final float[] fallHeight = new float[BOXES];
+    private final boolean[] fallOnGround = new boolean[BOXES];
+    private final boolean[] fallFrozen = new boolean[BOXES];
+
+    @Setup
+    public void setUp() {
+        world = new World(levelNumber);
+        collider.setLevel(world.getLevel());
+
+        float widthPixels = world.getWorldWidthPixels();
+        float heightPixels = world.getWorldHeightPixels();
+        float move = moveTiles * GameConfig.TILE_SIZE;
+
+        Random random = new Random(levelNumber * 31 + moveTiles);
+        int i = 0;
+        while (i < BOXES) {
+            x[i] = random.nextFloat() * widthPixels;
+            y[i] = random.nextFloat() * heightPixels;
+            dx[i] = (random.nextFloat() * 2f - 1f) * move;
+            dy[i] = (random.nextFloat() * 2f - 1f) * move;
+
+            fallStartY[i] = y[i];
+            fallWidth[i] = GameConfig.ENEMY_WIDTH;
+            fallHeight[i] = GameConfig.ENEMY_HEIGHT;
+            i = i + 1;
+        }
+    }
+
+    @Benchmark
+    public float sweepPlayer() {
+        Player player = world.getPlayer();
+
+        float sum = 0f;
+        int i = 0;
+        while (i < BOXES) {
+            collider.sweepX(x[i], y[i], player.width, player.height, dx[i], 0);
+            collider.sweepY(collider.position, y[i], player.width, player.height, dy[i], 0);
+            sum = sum + collider.position;
+            i = i + 1;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float sweepEnemy() {
+        float sum = 0f;
+        int i = 0;
+        while (i < BOXES) {
+            collider.sweepX(x[i], y[i], GameConfig.ENEMY_WIDTH, GameConfig.ENEMY_HEIGHT, dx[i], Tiles.FLAG_SOLID);
+            collider.sweepY(collider.position, y[i], GameConfig.ENEMY_WIDTH, GameConfig.ENEMY_HEIGHT, dy[i], Tiles.FLAG_SOLID);
+            sum = sum + collider.position;
+            i = i + 1;
+        }
+        return sum;
+    }
+
+    /**
+     * The World's player move, there and back so the player stays put between invocations.
+     */
+    @Benchmark
+    public float movePlayer() {
+        float move = moveTiles * GameConfig.TILE_SIZE;
+        world.moveHorizontal(move);
+        world.moveHorizontal(-move);
+        return world.getPlayer().x;
+    }
+
+    /**
+     * One gravity tick for BOXES airborne enemies (plus the reset copy).
+     */
+    @Benchmark
+    public float fallEnemies() {
+        System.arraycopy(fallStartY, 0, fallY, 0, BOXES);
+        Arrays.fill(fallVelocityY, -moveTiles * GameConfig.TILE_SIZE / TICK_SECONDS);
+        Arrays.fill(fallOnGround, false);
+
+        collider.fall(x, fallY, fallWidth, fallHeight, fallVelocityY, fallOnGround, fallFrozen, 0, BOXES,
+            GameConfig.GRAVITY, -Float.MAX_VALUE, TICK_SECONDS, Tiles.FLAG_SOLID);
+        return fallY[BOXES - 1];
+    }
+}
@@ -0,0 +1,81 @@
+package com.anthony.platformer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Arrays;
+
+/**
+ * The combat phase: enemy hitboxes, the broadphase hash, then the three overlap handlers, with
+ * N enemies either spread over an arena or all piled onto the player.
+ *
+ * Every invocation is the first tick of a swing: per-swing hit flags and the player's hurt locks
+ * are reset first, and nobody's hp runs out, so the same hits land every time.
+ */
+@State(Scope.Thread)
+public class CombatBenchmark {
+
+    @Param({"16", "256", "4096"})
+    public int enemyCount;
+
+    // spread = arena spawns (a handful near the player), crowd = every enemy overlapping the player and sword
+    @Param({"spread", "crowd"})
+    public String placement;
+
+    private World world;
+    private Player player;
+    private EnemyStore enemies;
+
+    @Setup
+    public void setUp() {
+        world = Arenas.world(enemyCount);
+        player = world.getPlayer();
+        enemies = world.getEnemies();
+
+        player.hp = Integer.MAX_VALUE;
+        player.isAttacking = true;
+        player.updateHurtbox();
+        player.swordHitbox.set(player.x + player.width + 2f, player.y + 4f, 14f, 10f);
+
+        int i = 0;
+        while (i < enemies.size) {
+            if (placement.equals("crowd")) {
+                enemies.x[i] = player.x - 8f + (i % 16) * 2f;
+                enemies.y[i] = player.y;
+            }
+            enemies.hp[i] = Integer.MAX_VALUE;
+            i = i + 1;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public int broadphase() {
+        world.updateEnemyHitboxes();
+        world.rebuildCombatHash();
+        return enemies.size;
+    }
+
+    @Benchmark
+    public int overlapHandlers() {
+        Arrays.fill(enemies.wasHitThisAttack, 0, enemies.size, false);
+        player.globalHurtLockSeconds = 0f;
+        player.bodyHurtCooldownSeconds = 0f;
+        player.swordHurtCooldownSeconds = 0f;
+
+        world.updateEnemyHitboxes();
+        world.rebuildCombatHash();
+        world.handlePlayerSwordHits();
+        world.handleEnemySwordHitsPlayer();
+        world.handleEnemyBodyHitsPlayer();
+        return player.hp;
+    }
+}
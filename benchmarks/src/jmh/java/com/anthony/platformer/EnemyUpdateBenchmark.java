@@ -0,0 +1,51 @@
+package com.anthony.platformer;
+
+import com.anthony.platformer.data.GameConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * World.updateEnemies (gravity, timers, AI) for N awake enemies patrolling an arena, on one thread
+ * and split across the ForkJoin pool. Plus a whole tick, for scale.
+ */
+@State(Scope.Thread)
+public class EnemyUpdateBenchmark {
+
+    private static final float TICK_SECONDS = 1f / GameConfig.SIM_TICKS_PER_SECOND;
+
+    @Param({"16", "256", "4096"})
+    public int enemyCount;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private World world;
+    private final InputState input = new InputState();
+
+    @Setup
+    public void setUp() {
+        world = Arenas.world(enemyCount);
+        world.setParallelEnemyThreshold(parallel ? 1 : Integer.MAX_VALUE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public int updateEnemies() {
+        world.updateEnemies(TICK_SECONDS);
+        return world.getEnemies().awakeCount;
+    }
+
+    @Benchmark
+    public long step() {
+        world.step(TICK_SECONDS, input);
+        return world.getTickCount();
+    }
+}
@@ -0,0 +1,71 @@
+package com.anthony.platformer;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+/**
+ * Sprite frame selection (CharacterAnimations.getFrame) for N enemies in a mix of states: what the
+ * renderer does per visible enemy before it draws. Regions are empty, so no GL context is needed.
+ */
+@State(Scope.Thread)
+public class FrameSelectionBenchmark {
+
+    @Param({"256", "4096"})
+    public int enemyCount;
+
+    private CharacterAnimations animations;
+    private final EnemyStore enemies = new EnemyStore();
+
+    @Setup
+    public void setUp() {
+        animations = new CharacterAnimations(clip(6, true), clip(6, true), clip(6, false), clip(6, false),
+            clip(5, false), clip(5, false));
+
+        Random random = new Random(enemyCount);
+        int i = 0;
+        while (i < enemyCount) {
+            int slot = enemies.obtain(i * 16f, 16f, 16f, 16f);
+
+            float state = random.nextFloat();
+            enemies.isDead[slot] = state < 0.1f;
+            enemies.isAttacking[slot] = state >= 0.1f && state < 0.3f;
+            enemies.stunSeconds[slot] = state >= 0.3f && state < 0.4f ? 0.2f : 0f;
+            enemies.isMoving[slot] = state >= 0.4f && state < 0.9f;
+
+            enemies.facingRight[slot] = random.nextBoolean();
+            enemies.animTimeSeconds[slot] = random.nextFloat() * 2f;
+            enemies.attackTimeSeconds[slot] = random.nextFloat() * 0.5f;
+            i = i + 1;
+        }
+    }
+
+    @Benchmark
+    public void enemyFrames(Blackhole blackhole) {
+        int i = 0;
+        while (i < enemies.size) {
+            blackhole.consume(animations.getFrame(enemies, i));
+            i = i + 1;
+        }
+    }
+
+    private static Animation<TextureRegion> clip(int frames, boolean loop) {
+        TextureRegion[] regions = new TextureRegion[frames];
+        int i = 0;
+        while (i < frames) {
+            regions[i] = new TextureRegion();
+            i = i + 1;
+        }
+
+        Animation<TextureRegion> animation = new Animation<TextureRegion>(World.WALK_FRAME_SECONDS, regions);
+        animation.setPlayMode(loop ? Animation.PlayMode.LOOP : Animation.PlayMode.NORMAL);
+        return animation;
+    }
+}
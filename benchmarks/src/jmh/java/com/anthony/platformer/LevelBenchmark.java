@@ -0,0 +1,91 @@
+package com.anthony.platformer;
+
+import com.anthony.platformer.data.GameConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Building a Level from its Levels.LEVEL_* layout, and the tile probes collision and AI make.
+ */
+@State(Scope.Thread)
+public class LevelBenchmark {
+
+    private static final int PROBES = 4096;
+
+    @Param({"1", "2", "3", "4", "5", "6"})
+    public int levelNumber;
+
+    private LevelInfo info;
+    private String[] layout;
+    private Level level;
+
+    // Probe cells, a fixed pseudo-random spread (some of them off the map)
+    private final int[] probeCols = new int[PROBES];
+    private final int[] probeRows = new int[PROBES];
+
+    @Setup
+    public void setUp() {
+        info = LevelRegistry.createDefault().get(levelNumber);
+        layout = layoutOf(levelNumber);
+        level = info.parse();
+
+        Random random = new Random(levelNumber);
+        int i = 0;
+        while (i < PROBES) {
+            probeCols[i] = random.nextInt(level.getCols() + 2) - 1;
+            probeRows[i] = random.nextInt(level.getRows() + 2) - 1;
+            i = i + 1;
+        }
+    }
+
+    @Benchmark
+    public Level construct() {
+        return new Level(layout, GameConfig.TILE_SIZE, info.spawnRow, info.spawnCol);
+    }
+
+    @Benchmark
+    public int isSolidTile() {
+        int solid = 0;
+        int i = 0;
+        while (i < PROBES) {
+            if (level.isSolidTile(probeCols[i], probeRows[i])) {
+                solid = solid + 1;
+            }
+            i = i + 1;
+        }
+        return solid;
+    }
+
+    @Benchmark
+    public int getTile() {
+        int sum = 0;
+        int i = 0;
+        while (i < PROBES) {
+            sum = sum + level.getTile(probeRows[i], probeCols[i]);
+            i = i + 1;
+        }
+        return sum;
+    }
+
+    private static String[] layoutOf(int levelNumber) {
+        switch (levelNumber) {
+            case 1:
+                return Levels.LEVEL_1;
+            case 2:
+                return Levels.LEVEL_2;
+            case 3:
+                return Levels.LEVEL_3;
+            case 4:
+                return Levels.LEVEL_4;
+            case 5:
+                return Levels.LEVEL_5;
+            default:
+                return Levels.LEVEL_6;
+        }
+    }
+}
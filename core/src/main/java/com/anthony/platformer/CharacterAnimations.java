@@ -0,0 +1,90 @@
+package com.anthony.platformer;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * One character's clips (walk, attack, death, each facing right and left) and the rules for which
+ * frame to show. The player and the enemies follow the same rules with different clips.
+ *
+ * Frame selection only reads the clips, so it needs no GL context (the benchmarks build these from
+ * empty regions).
+ */
+public class CharacterAnimations {
+
+    private final Animation<TextureRegion> walkRight;
+    private final Animation<TextureRegion> walkLeft;
+    private final Animation<TextureRegion> attackRight;
+    private final Animation<TextureRegion> attackLeft;
+
+    // Optional: null = no death clip, dead characters fall through to the other states
+    private final Animation<TextureRegion> deathRight;
+    private final Animation<TextureRegion> deathLeft;
+
+    public CharacterAnimations(Animation<TextureRegion> walkRight, Animation<TextureRegion> walkLeft,
+                               Animation<TextureRegion> attackRight, Animation<TextureRegion> attackLeft,
+                               Animation<TextureRegion> deathRight, Animation<TextureRegion> deathLeft) {
+        this.walkRight = walkRight;
+        this.walkLeft = walkLeft;
+        this.attackRight = attackRight;
+        this.attackLeft = attackLeft;
+        this.deathRight = deathRight;
+        this.deathLeft = deathLeft;
+    }
+
+    public TextureRegion getFrame(Player player) {
+        return getFrame(player.isDead(), player.isAttacking, player.stunSeconds > 0f, player.isMoving,
+            player.facingRight, player.animTimeSeconds, player.attackTimeSeconds);
+    }
+
+    public TextureRegion getFrame(EnemyStore enemies, int i) {
+        return getFrame(enemies.isDead[i], enemies.isAttacking[i], enemies.stunSeconds[i] > 0f, enemies.isMoving[i],
+            enemies.facingRight[i], enemies.animTimeSeconds[i], enemies.attackTimeSeconds[i]);
+    }
+
+    public TextureRegion getFrame(boolean dead, boolean attacking, boolean stunned, boolean moving,
+                                  boolean facingRight, float animTimeSeconds, float attackTimeSeconds) {
+        // Death locks everything (World restarts the clock when a character dies)
+        if (dead && deathRight != null && deathLeft != null) {
+            if (facingRight) {
+                return deathRight.getKeyFrame(animTimeSeconds, false);
+            } else {
+                return deathLeft.getKeyFrame(animTimeSeconds, false);
+            }
+        }
+
+        // Attack has priority
+        if (attacking) {
+            if (facingRight) {
+                return attackRight.getKeyFrame(attackTimeSeconds, false);
+            } else {
+                return attackLeft.getKeyFrame(attackTimeSeconds, false);
+            }
+        }
+
+        // "Hit" state (stun) - if you don't have a hit animation, just show idle frame
+        if (stunned) {
+            if (facingRight) {
+                return walkRight.getKeyFrames()[0];
+            } else {
+                return walkLeft.getKeyFrames()[0];
+            }
+        }
+
+        // Walk
+        if (moving) {
+            if (facingRight) {
+                return walkRight.getKeyFrame(animTimeSeconds, true);
+            } else {
+                return walkLeft.getKeyFrame(animTimeSeconds, true);
+            }
+        }
+
+        // Idle
+        if (facingRight) {
+            return walkRight.getKeyFrames()[0];
+        } else {
+            return walkLeft.getKeyFrames()[0];
+        }
+    }
+}
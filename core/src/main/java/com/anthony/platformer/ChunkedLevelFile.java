@@ -0,0 +1,177 @@
+package com.anthony.platformer;
+
+import com.anthony.platformer.data.GameConfig;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streamed level files (levels/NAME.lvc): like LevelFile, but the tiles are stored as
+ * fixed-size square chunks so ChunkedTiles can page them in without reading the whole map.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * int magic "PLVC", int version
+ * int cols, int rows, int tileSize, int spawnRow, int spawnCol, int chunkTiles
+ * int doorCount,  doorCount * (int type, int col, int row, int heightTiles)
+ * int spawnCount, spawnCount * (int cell, int groundRow)      cell = row * cols + col, groundRow -1 = none
+ * chunks, row-major by chunk: chunkTiles^2 tile ids each, row-major inside, 0 past the map edge
+ * </pre>
+ * Only the header is read on open; heap use is the door/spawn tables plus the resident chunks.
+ */
+public final class ChunkedLevelFile {
+
+    public static final int MAGIC = 0x504C5643; // "PLVC"
+    public static final int VERSION = 2;
+
+    private ChunkedLevelFile() {}
+
+    public static String fileName(String compiledName) {
+        return compiledName + ".lvc";
+    }
+
+    /**
+     * Opens a streamed level. The file stays open until {@link Level#close()}.
+     */
+    public static Level open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = readAt(channel, 0, 4 * 9);
+            if (header.getInt() != MAGIC) {
+                throw new IllegalStateException("Not a streamed level file (bad magic): " + path);
+            }
+            if (header.getInt() != VERSION) {
+                throw new IllegalStateException("Streamed level file is from another version, recompile it: " + path);
+            }
+
+            int cols = header.getInt();
+            int rows = header.getInt();
+            int tileSize = header.getInt();
+            int spawnRow = header.getInt();
+            int spawnCol = header.getInt();
+            int chunkTiles = header.getInt();
+            int doorCount = header.getInt();
+
+            long position = 4 * 9;
+
+            int[] doors = new int[doorCount * 4];
+            readAt(channel, position, doors.length * 4).asIntBuffer().get(doors);
+            position = position + doors.length * 4L;
+
+            int spawnCount = readAt(channel, position, 4).getInt();
+            position = position + 4;
+
+            int[] enemySpawns = new int[spawnCount * 2];
+            readAt(channel, position, enemySpawns.length * 4).asIntBuffer().get(enemySpawns);
+            position = position + enemySpawns.length * 4L;
+
+            ChunkedTiles tiles = new ChunkedTiles(cols, rows, chunkTiles, channel, position,
+                GameConfig.STREAM_RESIDENT_CHUNKS);
+
+            return new Level(rows, cols, tiles, tileSize, spawnRow, spawnCol, doors, enemySpawns);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static void write(Level level, Path path, int chunkTiles) throws IOException {
+        int rows = level.getRows();
+        int cols = level.getCols();
+        int chunkCols = (cols + chunkTiles - 1) / chunkTiles;
+        int chunkRows = (rows + chunkTiles - 1) / chunkTiles;
+
+        int doorCount = level.getTriggers().size();
+        int spawnCount = level.getEnemySpawns().size();
+
+        ByteBuffer header = ByteBuffer.allocate(4 * 10 + doorCount * 16 + spawnCount * 8);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(cols);
+        header.putInt(rows);
+        header.putInt(level.getTileSize());
+        header.putInt(level.getSpawnRow());
+        header.putInt(level.getSpawnCol());
+        header.putInt(chunkTiles);
+
+        header.putInt(doorCount);
+        int d = 0;
+        while (d < doorCount) {
+            DoorTrigger door = level.getTriggers().get(d);
+            header.putInt(door.type);
+            header.putInt(door.col);
+            header.putInt(door.row);
+            header.putInt(door.heightTiles);
+            d = d + 1;
+        }
+
+        header.putInt(spawnCount);
+        int s = 0;
+        while (s < spawnCount) {
+            EnemySpawn spawn = level.getEnemySpawns().get(s);
+            header.putInt(spawn.row * cols + spawn.col);
+            header.putInt(spawn.groundRow);
+            s = s + 1;
+        }
+        header.flip();
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+
+            ByteBuffer chunk = ByteBuffer.allocate(chunkTiles * chunkTiles);
+
+            int chunkRow = 0;
+            while (chunkRow < chunkRows) {
+                int chunkCol = 0;
+                while (chunkCol < chunkCols) {
+                    chunk.clear();
+
+                    int localRow = 0;
+                    while (localRow < chunkTiles) {
+                        int localCol = 0;
+                        while (localCol < chunkTiles) {
+                            // getTile returns 0 (empty) past the edge, which is what we want here
+                            chunk.put((byte) level.getTile(chunkRow * chunkTiles + localRow, chunkCol * chunkTiles + localCol));
+                            localCol = localCol + 1;
+                        }
+                        localRow = localRow + 1;
+                    }
+
+                    chunk.flip();
+                    writeFully(channel, chunk);
+
+                    chunkCol = chunkCol + 1;
+                }
+                chunkRow = chunkRow + 1;
+            }
+        }
+    }
+
+    private static ByteBuffer readAt(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Streamed level file is truncated");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.anthony.platformer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tile ids for a streamed level: the map stays on disk in fixed-size square chunks and only
+ * a bounded number of chunks are resident at once (least recently used goes first).
+ *
+ * {@link #prefetchAround} queues the chunks near a point on a background reader thread;
+ * {@link #update} installs whatever it finished. A {@link #getTile} on a chunk that isn't in
+ * yet reads it right there, so collision is always exact, just slower on a miss.
+ *
+ * Everything except the reader thread runs on the simulation thread.
+ */
+public class ChunkedTiles {
+
+    // Chunk edge in tiles (power of two) and its log2
+    private final int chunkTiles;
+    private final int chunkShift;
+    private final int chunkMask;
+    private final int chunkCols;
+    private final int chunkRows;
+    private final int chunkBytes;
+
+    private final FileChannel channel;
+    private final long dataOffset;
+
+    // Resident chunks: slot -> data / chunk index / last use; chunk index -> slot (-1 = not resident)
+    private final byte[][] slotData;
+    private final int[] slotChunk;
+    private final long[] slotLastUse;
+    private final int[] slotOfChunk;
+    private long useClock = 0;
+
+    // Background reads: requested (so we don't queue twice) and finished (waiting for update())
+    private final boolean[] requested;
+    private final ConcurrentLinkedQueue<LoadedChunk> finished = new ConcurrentLinkedQueue<LoadedChunk>();
+    private final ExecutorService reader;
+    private volatile boolean closed = false;
+
+    // Stats
+    private int syncLoads = 0;
+    private int asyncLoads = 0;
+    private int evictions = 0;
+
+    private static class LoadedChunk {
+        final int chunk;
+        final byte[] data;
+
+        LoadedChunk(int chunk, byte[] data) {
+            this.chunk = chunk;
+            this.data = data;
+        }
+    }
+
+    /**
+     * @param channel    open file holding the chunks; this object closes it in {@link #close()}
+     * @param dataOffset where chunk 0 starts; chunk i is at dataOffset + i * chunkTiles^2
+     */
+    public ChunkedTiles(int cols, int rows, int chunkTiles, FileChannel channel, long dataOffset, int residentChunks) {
+        if (Integer.bitCount(chunkTiles) != 1) {
+            throw new IllegalArgumentException("chunkTiles must be a power of two: " + chunkTiles);
+        }
+
+        this.chunkTiles = chunkTiles;
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkTiles);
+        this.chunkMask = chunkTiles - 1;
+        this.chunkCols = (cols + chunkTiles - 1) / chunkTiles;
+        this.chunkRows = (rows + chunkTiles - 1) / chunkTiles;
+        this.chunkBytes = chunkTiles * chunkTiles;
+
+        this.channel = channel;
+        this.dataOffset = dataOffset;
+
+        int slots = Math.max(1, Math.min(residentChunks, chunkCols * chunkRows));
+        slotData = new byte[slots][];
+        slotChunk = new int[slots];
+        slotLastUse = new long[slots];
+        Arrays.fill(slotChunk, -1);
+
+        slotOfChunk = new int[chunkCols * chunkRows];
+        Arrays.fill(slotOfChunk, -1);
+        requested = new boolean[chunkCols * chunkRows];
+
+        reader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "level-chunk-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getChunkTiles() {
+        return chunkTiles;
+    }
+
+    public int getResidentChunks() {
+        int count = 0;
+        int slot = 0;
+        while (slot < slotChunk.length) {
+            if (slotChunk[slot] >= 0) {
+                count = count + 1;
+            }
+            slot = slot + 1;
+        }
+        return count;
+    }
+
+    public int getSyncLoads() {
+        return syncLoads;
+    }
+
+    public int getAsyncLoads() {
+        return asyncLoads;
+    }
+
+    public int getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Tile id at (col, row). Caller has already bounds-checked.
+     */
+    public int getTile(int col, int row) {
+        int chunk = (row >> chunkShift) * chunkCols + (col >> chunkShift);
+
+        int slot = slotOfChunk[chunk];
+        if (slot < 0) {
+            // Not streamed in yet: read it now, collision can't guess
+            slot = install(chunk, readChunk(chunk));
+            syncLoads = syncLoads + 1;
+        }
+
+        useClock = useClock + 1;
+        slotLastUse[slot] = useClock;
+
+        return slotData[slot][((row & chunkMask) << chunkShift) | (col & chunkMask)];
+    }
+
+    /**
+     * Queues background reads for every chunk within {@code radiusChunks} of the tile (col, row).
+     */
+    public void prefetchAround(int col, int row, int radiusChunks) {
+        int centerChunkCol = Math.max(0, Math.min(chunkCols - 1, col >> chunkShift));
+        int centerChunkRow = Math.max(0, Math.min(chunkRows - 1, row >> chunkShift));
+
+        int minChunkRow = Math.max(0, centerChunkRow - radiusChunks);
+        int maxChunkRow = Math.min(chunkRows - 1, centerChunkRow + radiusChunks);
+        int minChunkCol = Math.max(0, centerChunkCol - radiusChunks);
+        int maxChunkCol = Math.min(chunkCols - 1, centerChunkCol + radiusChunks);
+
+        int chunkRow = minChunkRow;
+        while (chunkRow <= maxChunkRow) {
+            int chunkCol = minChunkCol;
+            while (chunkCol <= maxChunkCol) {
+                int chunk = chunkRow * chunkCols + chunkCol;
+
+                int slot = slotOfChunk[chunk];
+                if (slot >= 0) {
+                    // Still wanted: keep it ahead of chunks nobody's near
+                    useClock = useClock + 1;
+                    slotLastUse[slot] = useClock;
+                } else if (!requested[chunk]) {
+                    requested[chunk] = true;
+                    reader.execute(() -> readInBackground(chunk));
+                }
+
+                chunkCol = chunkCol + 1;
+            }
+            chunkRow = chunkRow + 1;
+        }
+    }
+
+    /**
+     * Installs chunks the reader thread has finished. Call once per tick.
+     */
+    public void update() {
+        LoadedChunk loaded = finished.poll();
+        while (loaded != null) {
+            requested[loaded.chunk] = false;
+
+            // A sync miss may have beaten the reader to it
+            if (slotOfChunk[loaded.chunk] < 0) {
+                install(loaded.chunk, loaded.data);
+                asyncLoads = asyncLoads + 1;
+            }
+
+            loaded = finished.poll();
+        }
+    }
+
+    public void close() {
+        closed = true;
+        reader.shutdownNow();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new IllegalStateException("Couldn't close level file", e);
+        }
+    }
+
+    private void readInBackground(int chunk) {
+        if (closed) {
+            return;
+        }
+
+        try {
+            finished.add(new LoadedChunk(chunk, readChunk(chunk)));
+        } catch (IllegalStateException e) {
+            // close() interrupts reads in flight; anything else is a real error
+            if (!closed) {
+                throw e;
+            }
+        }
+    }
+
+    private int install(int chunk, byte[] data) {
+        // Free slot, or the least recently used one
+        int slot = 0;
+        int candidate = 0;
+        while (candidate < slotChunk.length) {
+            if (slotChunk[candidate] < 0) {
+                slot = candidate;
+                break;
+            }
+            if (slotLastUse[candidate] < slotLastUse[slot]) {
+                slot = candidate;
+            }
+            candidate = candidate + 1;
+        }
+
+        if (slotChunk[slot] >= 0) {
+            slotOfChunk[slotChunk[slot]] = -1;
+            evictions = evictions + 1;
+        }
+
+        slotData[slot] = data;
+        slotChunk[slot] = chunk;
+        slotOfChunk[chunk] = slot;
+
+        useClock = useClock + 1;
+        slotLastUse[slot] = useClock;
+
+        return slot;
+    }
+
+    private byte[] readChunk(int chunk) {
+        byte[] data = new byte[chunkBytes];
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        long position = dataOffset + (long) chunk * chunkBytes;
+
+        try {
+            // Positional reads don't touch the channel's position, so both threads can read
+            while (buffer.hasRemaining()) {
+                int n = channel.read(buffer, position + buffer.position());
+                if (n < 0) {
+                    throw new EOFException("Level file ends inside chunk " + chunk);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Couldn't read level chunk " + chunk, e);
+        }
+
+        return data;
+    }
+}
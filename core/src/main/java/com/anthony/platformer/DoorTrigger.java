@@ -0,0 +1,44 @@
+package com.anthony.platformer;
+
+/**
+ * A door volume found while parsing a level: a vertical run of red or aqua door tiles.
+ */
+public class DoorTrigger {
+
+    public static final int TYPE_RED = 0;
+    public static final int TYPE_AQUA = 1;
+
+    public final int id;
+    public final int type;
+
+    // Tile extents
+    public final int col;
+    public final int row;
+    public final int heightTiles;
+
+    // World extents (pixels)
+    public final float x;
+    public final float y;
+    public final float width;
+    public final float height;
+
+    // Level number this door leads to, -1 = goes nowhere
+    public int targetLevel = -1;
+
+    public DoorTrigger(int id, int type, int col, int row, int heightTiles, int tileSize) {
+        this.id = id;
+        this.type = type;
+        this.col = col;
+        this.row = row;
+        this.heightTiles = heightTiles;
+
+        this.x = col * tileSize;
+        this.y = row * tileSize;
+        this.width = tileSize;
+        this.height = heightTiles * tileSize;
+    }
+
+    public boolean overlaps(float left, float bottom, float right, float top) {
+        return right > x && left < x + width && top > y && bottom < y + height;
+    }
+}
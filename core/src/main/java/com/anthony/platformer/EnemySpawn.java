@@ -0,0 +1,42 @@
+package com.anthony.platformer;
+
+import com.anthony.platformer.data.GameConfig;
+
+/**
+ * An enemy spawn marker, resolved when the level is built: where the enemy stands and how far it patrols.
+ */
+public class EnemySpawn {
+
+    // Marker tile
+    public final int col;
+    public final int row;
+
+    // Tile row the enemy stands on, -1 = nothing solid below the marker
+    public final int groundRow;
+
+    // PlatformSegment it starts on, -1 = none (no ground, or a streamed level)
+    public final int segment;
+
+    // World position (pixels): left edge and feet
+    public final float x;
+    public final float groundY;
+
+    // Patrol bounds for the enemy's left edge (pixels)
+    public final float patrolLeftX;
+    public final float patrolRightX;
+
+    public EnemySpawn(int col, int row, int groundRow, int segment, int tileSize, float worldWidthPixels) {
+        this.col = col;
+        this.row = row;
+        this.groundRow = groundRow;
+        this.segment = segment;
+
+        this.x = col * tileSize;
+        // No ground: stay at the marker's bottom edge
+        this.groundY = groundRow >= 0 ? (groundRow + 1) * tileSize : row * tileSize;
+
+        float patrolRadiusPixels = GameConfig.ENEMY_PATROL_RADIUS_TILES * tileSize;
+        this.patrolLeftX = Math.max(0f, x - patrolRadiusPixels);
+        this.patrolRightX = Math.min(worldWidthPixels - GameConfig.ENEMY_WIDTH, x + patrolRadiusPixels);
+    }
+}
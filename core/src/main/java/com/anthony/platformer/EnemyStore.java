@@ -0,0 +1,524 @@
+package com.anthony.platformer;
+
+import java.util.Arrays;
+
+/**
+ * Every enemy in the level, stored as parallel primitive arrays (one slot per enemy).
+ *
+ * The simulation phases loop over 0..size-1 and read only the arrays they need, so a
+ * pass over positions doesn't drag combat timers and AI tuning through the cache.
+ *
+ * The hurtbox is always (x, y, width, height) after the hitbox phase, so it isn't stored twice.
+ *
+ * Slots 0..awakeCount-1 are awake and simulated; awakeCount..size-1 are asleep (far from the view)
+ * and cost nothing per tick. {@link #sleep} and {@link #wake} move an enemy across the boundary.
+ */
+public class EnemyStore {
+
+    // Activity tiers for awake enemies (see World.updateEnemyActivity)
+    public static final int ACTIVITY_FULL = 0;
+    public static final int ACTIVITY_REDUCED = 1;
+    public static final int ACTIVITY_ASLEEP = 2;
+
+    public int size = 0;
+    public int awakeCount = 0;
+
+    // --- Position / size ---
+    public float[] x;
+    public float[] y;
+    public float[] prevX;
+    public float[] prevY;
+    public float[] width;
+    public float[] height;
+
+    public boolean[] facingRight;
+    public boolean[] isMoving;
+
+    public boolean[] wasHitThisAttack;
+
+    // --- Sword hitbox (width 0 = no sword out) ---
+    public float[] swordX;
+    public float[] swordY;
+    public float[] swordWidth;
+    public float[] swordHeight;
+
+    // --- Combat state ---
+    public boolean[] isAttacking;
+    public float[] attackTimeSeconds;
+    public float[] attackDurationSeconds;
+
+    public float[] attackCooldownSeconds;
+    public float[] attackCooldownDurationSeconds;
+
+    // --- Hit reaction ---
+    public float[] stunSeconds;
+    public float[] knockbackVelX;
+
+    // --- Animation time ---
+    public float[] animTimeSeconds;
+
+    // --- Death state ---
+    public boolean[] isDead;
+    public boolean[] deathStarted;
+    public boolean[] readyToRemove;
+
+    // --- Movement AI ---
+    public float[] patrolLeftX;
+    public float[] patrolRightX;
+
+    public int[] moveDir; // 1 = right, -1 = left
+
+    public float[] patrolSpeed;
+    public float[] chaseSpeed;
+
+    public float[] aggroRangePixels;
+    public float[] disengageRangePixels;
+
+    public boolean[] isChasing;
+    public float[] homeGroundY;
+
+    // PlatformSegment it's standing on this tick, -1 = airborne or none
+    public int[] segment;
+
+    // --- Vertical physics ---
+    public float[] velocityY;
+    public boolean[] isOnGround;
+
+    // --- Activity (LOD) ---
+    public int[] activity;
+    // Reduced tier: time not simulated yet, caught up in one step
+    public float[] pendingSeconds;
+    // Kept at full rate for this long whatever the distance (woken by an event)
+    public float[] wakeSeconds;
+
+    public int[] hp;
+
+    public EnemyStore() {
+        this(16);
+    }
+
+    public EnemyStore(int initialCapacity) {
+        allocate(Math.max(1, initialCapacity));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return x.length;
+    }
+
+    /**
+     * Takes a slot for a new enemy, resets it to the default tuning and places it. New enemies
+     * start awake at full rate. Slots are reused across deaths and level loads; the arrays only
+     * grow when a level has more enemies alive at once than any level before it.
+     */
+    public int obtain(float spawnX, float spawnY, float enemyWidth, float enemyHeight) {
+        if (size == x.length) {
+            ensureCapacity(size * 2);
+        }
+
+        // First sleeper (if any) moves to the end to make room at the awake boundary
+        if (awakeCount < size) {
+            copySlot(awakeCount, size);
+        }
+
+        int i = awakeCount;
+        awakeCount = awakeCount + 1;
+        size = size + 1;
+
+        reset(i);
+
+        x[i] = spawnX;
+        y[i] = spawnY;
+        prevX[i] = spawnX;
+        prevY[i] = spawnY;
+        width[i] = enemyWidth;
+        height[i] = enemyHeight;
+
+        return i;
+    }
+
+    /**
+     * Puts slot {@code i} back to a freshly spawned enemy (everything except position and size).
+     */
+    public void reset(int i) {
+        facingRight[i] = true;
+        isMoving[i] = true;
+
+        wasHitThisAttack[i] = false;
+
+        clearSwordHitbox(i);
+
+        isAttacking[i] = false;
+        attackTimeSeconds[i] = 0f;
+        attackDurationSeconds[i] = 0.48f;
+
+        attackCooldownSeconds[i] = 0f;
+        attackCooldownDurationSeconds[i] = 1.00f;
+
+        stunSeconds[i] = 0f;
+        knockbackVelX[i] = 0f;
+
+        animTimeSeconds[i] = 0f;
+
+        isDead[i] = false;
+        deathStarted[i] = false;
+        readyToRemove[i] = false;
+
+        patrolLeftX[i] = 0f;
+        patrolRightX[i] = 0f;
+
+        moveDir[i] = 1;
+
+        patrolSpeed[i] = 60f;
+        chaseSpeed[i] = 90f;
+
+        aggroRangePixels[i] = 140f; // start chasing when player is this close
+        disengageRangePixels[i] = 180f; // stop chasing when farther than this
+
+        isChasing[i] = false;
+        homeGroundY[i] = 0f;
+        segment[i] = -1;
+
+        velocityY[i] = 0f;
+        isOnGround[i] = false;
+
+        activity[i] = ACTIVITY_FULL;
+        pendingSeconds[i] = 0f;
+        wakeSeconds[i] = 0f;
+
+        hp[i] = 3;
+    }
+
+    /**
+     * Removes the enemy in slot {@code index} in O(1) by moving another enemy into its slot
+     * (the last awake one, then the last sleeper into the gap that leaves). Order is not preserved:
+     * when removing while iterating forward, re-check {@code index} instead of advancing past it.
+     */
+    public void remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+
+        int last = size - 1;
+
+        if (index < awakeCount) {
+            int lastAwake = awakeCount - 1;
+            if (index != lastAwake) {
+                copySlot(lastAwake, index);
+            }
+            if (lastAwake != last) {
+                copySlot(last, lastAwake);
+            }
+            awakeCount = lastAwake;
+        } else if (index != last) {
+            copySlot(last, index);
+        }
+
+        size = last;
+    }
+
+    /**
+     * Puts awake enemy {@code index} to sleep. The last awake enemy takes its slot, so re-check
+     * {@code index} when doing this while iterating forward.
+     */
+    public void sleep(int index) {
+        if (index < 0 || index >= awakeCount) {
+            throw new IndexOutOfBoundsException("index " + index + ", awakeCount " + awakeCount);
+        }
+
+        awakeCount = awakeCount - 1;
+        swapSlots(index, awakeCount);
+        activity[awakeCount] = ACTIVITY_ASLEEP;
+    }
+
+    /**
+     * Wakes sleeping enemy {@code index} at the given tier and returns its new (awake) slot.
+     * The first sleeper takes its old slot.
+     */
+    public int wake(int index, int tier) {
+        if (index < awakeCount || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", awakeCount " + awakeCount + ", size " + size);
+        }
+
+        swapSlots(index, awakeCount);
+
+        int i = awakeCount;
+        awakeCount = awakeCount + 1;
+
+        activity[i] = tier;
+        pendingSeconds[i] = 0f;
+        wasHitThisAttack[i] = false;
+        // It hasn't moved while asleep; don't interpolate from wherever it was before
+        snapPrevious(i);
+
+        return i;
+    }
+
+    /**
+     * Releases every slot. The arrays are kept so the next level can reuse them.
+     */
+    public void clear() {
+        size = 0;
+        awakeCount = 0;
+    }
+
+    // ---------------- PER-SLOT HELPERS ----------------
+
+    public float centerX(int i) {
+        return x[i] + width[i] / 2f;
+    }
+
+    public boolean hasSword(int i) {
+        return swordWidth[i] > 0f && swordHeight[i] > 0f;
+    }
+
+    public void clearSwordHitbox(int i) {
+        swordX[i] = 0f;
+        swordY[i] = 0f;
+        swordWidth[i] = 0f;
+        swordHeight[i] = 0f;
+    }
+
+    public void startDeath(int i) {
+        isDead[i] = true;
+        deathStarted[i] = false;
+        readyToRemove[i] = false;
+
+        isAttacking[i] = false;
+        attackTimeSeconds[i] = 0f;
+        clearSwordHitbox(i);
+
+        stunSeconds[i] = 0f;
+        knockbackVelX[i] = 0f;
+
+        animTimeSeconds[i] = 0f;
+    }
+
+    public void snapPrevious(int i) {
+        prevX[i] = x[i];
+        prevY[i] = y[i];
+    }
+
+    public float interpolatedX(int i, float alpha) {
+        return prevX[i] + (x[i] - prevX[i]) * alpha;
+    }
+
+    public float interpolatedY(int i, float alpha) {
+        return prevY[i] + (y[i] - prevY[i]) * alpha;
+    }
+
+    /**
+     * Makes this store a copy of what the renderer reads from {@code source}: positions, sizes,
+     * sword boxes and animation state. Combat tuning, AI and physics are left as they were.
+     */
+    public void copyRenderState(EnemyStore source) {
+        ensureCapacity(source.size);
+
+        int n = source.size;
+        System.arraycopy(source.x, 0, x, 0, n);
+        System.arraycopy(source.y, 0, y, 0, n);
+        System.arraycopy(source.prevX, 0, prevX, 0, n);
+        System.arraycopy(source.prevY, 0, prevY, 0, n);
+        System.arraycopy(source.width, 0, width, 0, n);
+        System.arraycopy(source.height, 0, height, 0, n);
+
+        System.arraycopy(source.facingRight, 0, facingRight, 0, n);
+        System.arraycopy(source.isMoving, 0, isMoving, 0, n);
+
+        System.arraycopy(source.swordX, 0, swordX, 0, n);
+        System.arraycopy(source.swordY, 0, swordY, 0, n);
+        System.arraycopy(source.swordWidth, 0, swordWidth, 0, n);
+        System.arraycopy(source.swordHeight, 0, swordHeight, 0, n);
+
+        System.arraycopy(source.isAttacking, 0, isAttacking, 0, n);
+        System.arraycopy(source.attackTimeSeconds, 0, attackTimeSeconds, 0, n);
+        System.arraycopy(source.stunSeconds, 0, stunSeconds, 0, n);
+        System.arraycopy(source.animTimeSeconds, 0, animTimeSeconds, 0, n);
+        System.arraycopy(source.isDead, 0, isDead, 0, n);
+
+        size = source.size;
+        awakeCount = source.awakeCount;
+    }
+
+    // ---------------- STORAGE ----------------
+
+    public void ensureCapacity(int capacity) {
+        if (capacity <= x.length) {
+            return;
+        }
+
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+
+        facingRight = Arrays.copyOf(facingRight, capacity);
+        isMoving = Arrays.copyOf(isMoving, capacity);
+        wasHitThisAttack = Arrays.copyOf(wasHitThisAttack, capacity);
+
+        swordX = Arrays.copyOf(swordX, capacity);
+        swordY = Arrays.copyOf(swordY, capacity);
+        swordWidth = Arrays.copyOf(swordWidth, capacity);
+        swordHeight = Arrays.copyOf(swordHeight, capacity);
+
+        isAttacking = Arrays.copyOf(isAttacking, capacity);
+        attackTimeSeconds = Arrays.copyOf(attackTimeSeconds, capacity);
+        attackDurationSeconds = Arrays.copyOf(attackDurationSeconds, capacity);
+        attackCooldownSeconds = Arrays.copyOf(attackCooldownSeconds, capacity);
+        attackCooldownDurationSeconds = Arrays.copyOf(attackCooldownDurationSeconds, capacity);
+
+        stunSeconds = Arrays.copyOf(stunSeconds, capacity);
+        knockbackVelX = Arrays.copyOf(knockbackVelX, capacity);
+
+        animTimeSeconds = Arrays.copyOf(animTimeSeconds, capacity);
+
+        isDead = Arrays.copyOf(isDead, capacity);
+        deathStarted = Arrays.copyOf(deathStarted, capacity);
+        readyToRemove = Arrays.copyOf(readyToRemove, capacity);
+
+        patrolLeftX = Arrays.copyOf(patrolLeftX, capacity);
+        patrolRightX = Arrays.copyOf(patrolRightX, capacity);
+        moveDir = Arrays.copyOf(moveDir, capacity);
+        patrolSpeed = Arrays.copyOf(patrolSpeed, capacity);
+        chaseSpeed = Arrays.copyOf(chaseSpeed, capacity);
+        aggroRangePixels = Arrays.copyOf(aggroRangePixels, capacity);
+        disengageRangePixels = Arrays.copyOf(disengageRangePixels, capacity);
+        isChasing = Arrays.copyOf(isChasing, capacity);
+        homeGroundY = Arrays.copyOf(homeGroundY, capacity);
+        segment = Arrays.copyOf(segment, capacity);
+
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        isOnGround = Arrays.copyOf(isOnGround, capacity);
+
+        activity = Arrays.copyOf(activity, capacity);
+        pendingSeconds = Arrays.copyOf(pendingSeconds, capacity);
+        wakeSeconds = Arrays.copyOf(wakeSeconds, capacity);
+
+        hp = Arrays.copyOf(hp, capacity);
+    }
+
+    private void allocate(int capacity) {
+        x = new float[capacity];
+        y = new float[capacity];
+        prevX = new float[capacity];
+        prevY = new float[capacity];
+        width = new float[capacity];
+        height = new float[capacity];
+
+        facingRight = new boolean[capacity];
+        isMoving = new boolean[capacity];
+        wasHitThisAttack = new boolean[capacity];
+
+        swordX = new float[capacity];
+        swordY = new float[capacity];
+        swordWidth = new float[capacity];
+        swordHeight = new float[capacity];
+
+        isAttacking = new boolean[capacity];
+        attackTimeSeconds = new float[capacity];
+        attackDurationSeconds = new float[capacity];
+        attackCooldownSeconds = new float[capacity];
+        attackCooldownDurationSeconds = new float[capacity];
+
+        stunSeconds = new float[capacity];
+        knockbackVelX = new float[capacity];
+
+        animTimeSeconds = new float[capacity];
+
+        isDead = new boolean[capacity];
+        deathStarted = new boolean[capacity];
+        readyToRemove = new boolean[capacity];
+
+        patrolLeftX = new float[capacity];
+        patrolRightX = new float[capacity];
+        moveDir = new int[capacity];
+        patrolSpeed = new float[capacity];
+        chaseSpeed = new float[capacity];
+        aggroRangePixels = new float[capacity];
+        disengageRangePixels = new float[capacity];
+        isChasing = new boolean[capacity];
+        homeGroundY = new float[capacity];
+        segment = new int[capacity];
+
+        velocityY = new float[capacity];
+        isOnGround = new boolean[capacity];
+
+        activity = new int[capacity];
+        pendingSeconds = new float[capacity];
+        wakeSeconds = new float[capacity];
+
+        hp = new int[capacity];
+    }
+
+    private void swapSlots(int a, int b) {
+        if (a == b) {
+            return;
+        }
+
+        // Slot `size` is past the end, free to use as scratch
+        if (size == x.length) {
+            ensureCapacity(size * 2);
+        }
+        copySlot(a, size);
+        copySlot(b, a);
+        copySlot(size, b);
+    }
+
+    private void copySlot(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        prevX[to] = prevX[from];
+        prevY[to] = prevY[from];
+        width[to] = width[from];
+        height[to] = height[from];
+
+        facingRight[to] = facingRight[from];
+        isMoving[to] = isMoving[from];
+        wasHitThisAttack[to] = wasHitThisAttack[from];
+
+        swordX[to] = swordX[from];
+        swordY[to] = swordY[from];
+        swordWidth[to] = swordWidth[from];
+        swordHeight[to] = swordHeight[from];
+
+        isAttacking[to] = isAttacking[from];
+        attackTimeSeconds[to] = attackTimeSeconds[from];
+        attackDurationSeconds[to] = attackDurationSeconds[from];
+        attackCooldownSeconds[to] = attackCooldownSeconds[from];
+        attackCooldownDurationSeconds[to] = attackCooldownDurationSeconds[from];
+
+        stunSeconds[to] = stunSeconds[from];
+        knockbackVelX[to] = knockbackVelX[from];
+
+        animTimeSeconds[to] = animTimeSeconds[from];
+
+        isDead[to] = isDead[from];
+        deathStarted[to] = deathStarted[from];
+        readyToRemove[to] = readyToRemove[from];
+
+        patrolLeftX[to] = patrolLeftX[from];
+        patrolRightX[to] = patrolRightX[from];
+        moveDir[to] = moveDir[from];
+        patrolSpeed[to] = patrolSpeed[from];
+        chaseSpeed[to] = chaseSpeed[from];
+        aggroRangePixels[to] = aggroRangePixels[from];
+        disengageRangePixels[to] = disengageRangePixels[from];
+        isChasing[to] = isChasing[from];
+        homeGroundY[to] = homeGroundY[from];
+        segment[to] = segment[from];
+
+        velocityY[to] = velocityY[from];
+        isOnGround[to] = isOnGround[from];
+
+        activity[to] = activity[from];
+        pendingSeconds[to] = pendingSeconds[from];
+        wakeSeconds[to] = wakeSeconds[from];
+
+        hp[to] = hp[from];
+    }
+}
@@ -0,0 +1,90 @@
+package com.anthony.platformer;
+
+/**
+ * Turns variable frame times into a whole number of fixed simulation steps.
+ *
+ * Usage per frame: {@code int steps = timestep.advance(delta)}, run {@code world.step(timestep.getStepSeconds(), input)}
+ * that many times, then draw with {@link #getAlpha()} to interpolate between the last two simulated states.
+ */
+public class FixedTimestep {
+
+    private final float stepSeconds;
+    private final int maxStepsPerFrame;
+    private final float maxFrameSeconds;
+
+    private float accumulatorSeconds = 0f;
+    private float droppedSeconds = 0f;
+
+    public FixedTimestep(int ticksPerSecond, int maxStepsPerFrame, float maxFrameSeconds) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("ticksPerSecond must be > 0");
+        }
+        if (maxStepsPerFrame <= 0) {
+            throw new IllegalArgumentException("maxStepsPerFrame must be > 0");
+        }
+
+        this.stepSeconds = 1f / ticksPerSecond;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+        this.maxFrameSeconds = maxFrameSeconds;
+    }
+
+    /**
+     * Adds this frame's time and returns how many fixed steps should run now.
+     */
+    public int advance(float frameSeconds) {
+        // A long hitch (window drag, breakpoint, GC) would otherwise be replayed in one burst
+        if (frameSeconds > maxFrameSeconds) {
+            droppedSeconds = droppedSeconds + (frameSeconds - maxFrameSeconds);
+            frameSeconds = maxFrameSeconds;
+        }
+        if (frameSeconds < 0f) {
+            frameSeconds = 0f;
+        }
+
+        accumulatorSeconds = accumulatorSeconds + frameSeconds;
+
+        int steps = (int) (accumulatorSeconds / stepSeconds);
+
+        // Spiral-of-death guard: if we can't keep up, drop the backlog instead of
+        // asking for even more steps next frame.
+        if (steps > maxStepsPerFrame) {
+            float excess = (steps - maxStepsPerFrame) * stepSeconds;
+            droppedSeconds = droppedSeconds + excess;
+            accumulatorSeconds = accumulatorSeconds - excess;
+            steps = maxStepsPerFrame;
+        }
+
+        accumulatorSeconds = accumulatorSeconds - steps * stepSeconds;
+        if (accumulatorSeconds < 0f) {
+            accumulatorSeconds = 0f;
+        }
+
+        return steps;
+    }
+
+    /**
+     * How far we are between the previous and the current simulated state (0..1).
+     */
+    public float getAlpha() {
+        float alpha = accumulatorSeconds / stepSeconds;
+        if (alpha > 1f) {
+            return 1f;
+        }
+        return alpha;
+    }
+
+    public float getStepSeconds() {
+        return stepSeconds;
+    }
+
+    public int getMaxStepsPerFrame() {
+        return maxStepsPerFrame;
+    }
+
+    /**
+     * Total simulated time thrown away by the hitch clamp and spiral-of-death guard.
+     */
+    public float getDroppedSeconds() {
+        return droppedSeconds;
+    }
+}
@@ -0,0 +1,310 @@
+package com.anthony.platformer;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Cheap per-phase frame timers: where a frame's time goes between the simulation phases (World.step)
+ * and the draw passes (PlatformerGame.render).
+ *
+ * Usage is a chain of laps, no begin/end stack:
+ *
+ *   long t = profiler.start();
+ *   updatePlayer(...);
+ *   t = profiler.lap(FrameProfiler.PLAYER, t);
+ *
+ * Laps add up over the frame (several ticks in one frame sum into the same phases) until endFrame(),
+ * which files the frame's totals in two places: a rolling window of the last N frames (exact
+ * percentiles, for the overlay) and a whole-session histogram (for the dump on exit).
+ *
+ * Not thread-safe: one thread laps and ends frames. The draw phases measure CPU submission time;
+ * GL work is asynchronous and lands wherever the driver decides to block.
+ */
+public class FrameProfiler {
+
+    // ---------------- PHASES ----------------
+    // Simulation (World.step, summed over the frame's ticks)
+    public static final int ACTIVITY = 0;
+    public static final int PLAYER = 1;
+    public static final int ENEMIES = 2;
+    public static final int HITBOXES = 3;
+    public static final int PLAYER_SWORD_HITS = 4;
+    public static final int ENEMY_SWORD_HITS = 5;
+    public static final int ENEMY_BODY_HITS = 6;
+    public static final int CLEANUP = 7;
+
+    // Rendering (PlatformerGame.render)
+    public static final int SNAPSHOT = 8;
+    public static final int TILES = 9;
+    public static final int SPRITES = 10;
+    public static final int DOOR_SHAPES = 11;
+    public static final int HITBOX_SHAPES = 12;
+    public static final int OVERLAY = 13;
+
+    // The whole of render(), including anything between the phases above
+    public static final int FRAME = 14;
+
+    public static final int PHASE_COUNT = 15;
+
+    public static final String CSV_HEADER = "phase,frames,mean_ms,p50_ms,p90_ms,p99_ms,max_ms\n";
+
+    private static final String[] NAMES = {
+        "activity", "player", "enemies", "hitboxes", "playerSwordHits", "enemySwordHits", "enemyBodyHits",
+        "cleanup", "snapshot", "tiles", "sprites", "doorShapes", "hitboxShapes", "overlay", "frame",
+    };
+
+    // Session histogram, log scale: bucket 0 is under 1 us, bucket i ends at 1 us * 1.05^i (so any
+    // percentile read from it is within 5%), the last one (past ~2.3 s) takes everything slower
+    private static final double BUCKET_MIN_NANOS = 1000.0;
+    private static final double BUCKET_GROWTH = 1.05;
+    private static final int BUCKET_COUNT = 300;
+
+    /** Does nothing; what World laps against until a profiler is attached. */
+    public static final FrameProfiler OFF = new FrameProfiler();
+
+    private boolean enabled;
+
+    // This frame so far
+    private final long[] frameNanos;
+
+    // ---------------- ROLLING WINDOW ----------------
+    // window[phase][frame % windowFrames]
+    private final long[][] window;
+    private final int windowFrames;
+    private final long[] sortScratch;
+
+    // Filled by refreshWindowStats(), in milliseconds
+    public final float[] windowP50Ms;
+    public final float[] windowP99Ms;
+    public final float[] windowMaxMs;
+
+    // ---------------- SESSION ----------------
+    private final int[][] histogram;
+    private final long[] totalNanos;
+    private final long[] maxNanos;
+    private long frames;
+
+    public FrameProfiler(int windowFrames) {
+        if (windowFrames <= 0) {
+            throw new IllegalArgumentException("windowFrames must be > 0: " + windowFrames);
+        }
+
+        this.enabled = true;
+        this.windowFrames = windowFrames;
+
+        frameNanos = new long[PHASE_COUNT];
+        window = new long[PHASE_COUNT][windowFrames];
+        sortScratch = new long[windowFrames];
+
+        windowP50Ms = new float[PHASE_COUNT];
+        windowP99Ms = new float[PHASE_COUNT];
+        windowMaxMs = new float[PHASE_COUNT];
+
+        histogram = new int[PHASE_COUNT][BUCKET_COUNT];
+        totalNanos = new long[PHASE_COUNT];
+        maxNanos = new long[PHASE_COUNT];
+    }
+
+    private FrameProfiler() {
+        enabled = false;
+        windowFrames = 0;
+
+        frameNanos = null;
+        window = null;
+        sortScratch = null;
+        windowP50Ms = null;
+        windowP99Ms = null;
+        windowMaxMs = null;
+        histogram = null;
+        totalNanos = null;
+        maxNanos = null;
+    }
+
+    public static String getName(int phase) {
+        return NAMES[phase];
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Paused, laps and endFrame() do nothing (and cost one branch).
+     */
+    public void setEnabled(boolean enabled) {
+        if (this == OFF) {
+            throw new IllegalStateException("FrameProfiler.OFF can't be enabled");
+        }
+        this.enabled = enabled;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    // ----------------------- TIMING -----------------------
+
+    public long start() {
+        if (!enabled) {
+            return 0L;
+        }
+        return TimeUtils.nanoTime();
+    }
+
+    /**
+     * Adds the time since {@code since} to {@code phase} and returns now, ready for the next lap.
+     */
+    public long lap(int phase, long since) {
+        if (!enabled) {
+            return 0L;
+        }
+
+        long now = TimeUtils.nanoTime();
+        frameNanos[phase] = frameNanos[phase] + (now - since);
+        return now;
+    }
+
+    /**
+     * Files this frame's phase totals (phases that didn't run count as 0) and starts the next frame.
+     */
+    public void endFrame() {
+        if (!enabled) {
+            return;
+        }
+
+        int slot = (int) (frames % windowFrames);
+
+        int phase = 0;
+        while (phase < PHASE_COUNT) {
+            long nanos = frameNanos[phase];
+
+            window[phase][slot] = nanos;
+
+            int bucket = bucketOf(nanos);
+            histogram[phase][bucket] = histogram[phase][bucket] + 1;
+            totalNanos[phase] = totalNanos[phase] + nanos;
+            if (nanos > maxNanos[phase]) {
+                maxNanos[phase] = nanos;
+            }
+
+            frameNanos[phase] = 0L;
+            phase = phase + 1;
+        }
+
+        frames = frames + 1;
+    }
+
+    // ----------------------- STATS -----------------------
+
+    /**
+     * Recomputes windowP50Ms / windowP99Ms / windowMaxMs over the last windowFrames frames. Sorts a
+     * window per phase, so call it a few times a second, not every frame.
+     */
+    public void refreshWindowStats() {
+        int count = (int) Math.min(frames, windowFrames);
+        if (count == 0) {
+            return;
+        }
+
+        int phase = 0;
+        while (phase < PHASE_COUNT) {
+            System.arraycopy(window[phase], 0, sortScratch, 0, count);
+            Arrays.sort(sortScratch, 0, count);
+
+            windowP50Ms[phase] = millis(sortScratch[rank(count, 50)]);
+            windowP99Ms[phase] = millis(sortScratch[rank(count, 99)]);
+            windowMaxMs[phase] = millis(sortScratch[count - 1]);
+            phase = phase + 1;
+        }
+    }
+
+    /**
+     * One "name  p50 / p99 / max" line per phase that took any time in the window, as of the last
+     * refreshWindowStats().
+     */
+    public void appendWindowStats(StringBuilder text) {
+        int phase = 0;
+        while (phase < PHASE_COUNT) {
+            if (windowMaxMs[phase] > 0f) {
+                text.append(NAMES[phase]).append("  ")
+                    .append(String.format(Locale.ROOT, "%.2f / %.2f / %.2f",
+                        windowP50Ms[phase], windowP99Ms[phase], windowMaxMs[phase]))
+                    .append('\n');
+            }
+            phase = phase + 1;
+        }
+    }
+
+    /**
+     * Whole-session summary, CSV_HEADER then {@link #appendCsvRows}.
+     */
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        appendCsvRows(csv);
+        return csv.toString();
+    }
+
+    /**
+     * One row per phase that ever took any time, in CSV_HEADER's columns. Percentiles come from the
+     * histogram, so they're bucket upper bounds (at most 5% high); mean and max are exact.
+     */
+    public void appendCsvRows(StringBuilder csv) {
+        int phase = 0;
+        while (phase < PHASE_COUNT) {
+            if (totalNanos[phase] > 0) {
+                csv.append(NAMES[phase]).append(',')
+                    .append(frames).append(',')
+                    .append(format(millis(totalNanos[phase] / frames))).append(',')
+                    .append(histogramPercentile(phase, 50)).append(',')
+                    .append(histogramPercentile(phase, 90)).append(',')
+                    .append(histogramPercentile(phase, 99)).append(',')
+                    .append(format(millis(maxNanos[phase]))).append('\n');
+            }
+            phase = phase + 1;
+        }
+    }
+
+    private String histogramPercentile(int phase, int percent) {
+        long target = (long) Math.ceil(percent / 100.0 * frames);
+
+        long seen = 0;
+        int bucket = 0;
+        while (bucket < BUCKET_COUNT - 1) {
+            seen = seen + histogram[phase][bucket];
+            if (seen >= target) {
+                // The bucket's end can be past the slowest frame actually in it
+                return format(millis(Math.min(bucketEndNanos(bucket), maxNanos[phase])));
+            }
+            bucket = bucket + 1;
+        }
+        return format(millis(bucketEndNanos(BUCKET_COUNT - 2))) + "+";
+    }
+
+    private static int bucketOf(long nanos) {
+        if (nanos < BUCKET_MIN_NANOS) {
+            return 0;
+        }
+        int bucket = 1 + (int) (Math.log(nanos / BUCKET_MIN_NANOS) / Math.log(BUCKET_GROWTH));
+        return Math.min(BUCKET_COUNT - 1, bucket);
+    }
+
+    private static long bucketEndNanos(int bucket) {
+        return (long) (BUCKET_MIN_NANOS * Math.pow(BUCKET_GROWTH, bucket));
+    }
+
+    // Nearest-rank index into count sorted values
+    private static int rank(int count, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * count);
+        return Math.max(0, rank - 1);
+    }
+
+    private static float millis(long nanos) {
+        return nanos / 1_000_000f;
+    }
+
+    private static String format(float millis) {
+        return String.format(Locale.ROOT, "%.3f", millis);
+    }
+}
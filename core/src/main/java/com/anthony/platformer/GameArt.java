@@ -0,0 +1,82 @@
+package com.anthony.platformer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every image the game draws, looked up by name (the PNG file name without ".png").
+ *
+ * If the packed atlas exists (gradle packTextures) everything comes from one page,
+ * so tiles, player and skeletons draw without texture switches. Otherwise the loose
+ * PNGs in assets/ are loaded one Texture each, like before.
+ */
+public class GameArt implements Disposable {
+
+    public static final String ATLAS_PATH = "atlas/game.atlas";
+
+    private TextureAtlas atlas;
+
+    // Fallback: one texture per file
+    private final Map<String, TextureRegion> looseRegions = new HashMap<String, TextureRegion>();
+    private final List<Texture> looseTextures = new ArrayList<Texture>();
+
+    public GameArt() {
+        if (Gdx.files.internal(ATLAS_PATH).exists()) {
+            atlas = new TextureAtlas(Gdx.files.internal(ATLAS_PATH));
+        } else {
+            Gdx.app.log("GameArt", ATLAS_PATH + " not found, loading loose textures (run gradle packTextures)");
+        }
+    }
+
+    public boolean isPacked() {
+        return atlas != null;
+    }
+
+    /**
+     * Region for {@code name}, e.g. "player" or "top-grass".
+     * Don't flip or modify it in place: copy it first, it's shared.
+     */
+    public TextureRegion get(String name) {
+        if (atlas != null) {
+            TextureRegion region = atlas.findRegion(name);
+            if (region == null) {
+                throw new IllegalArgumentException("No region '" + name + "' in " + ATLAS_PATH);
+            }
+            return region;
+        }
+
+        TextureRegion region = looseRegions.get(name);
+        if (region == null) {
+            Texture texture = new Texture(name + ".png");
+            looseTextures.add(texture);
+
+            region = new TextureRegion(texture);
+            looseRegions.put(name, region);
+        }
+        return region;
+    }
+
+    @Override
+    public void dispose() {
+        if (atlas != null) {
+            atlas.dispose();
+            atlas = null;
+        }
+
+        int i = 0;
+        while (i < looseTextures.size()) {
+            looseTextures.get(i).dispose();
+            i = i + 1;
+        }
+        looseTextures.clear();
+        looseRegions.clear();
+    }
+}
@@ -0,0 +1,51 @@
+package com.anthony.platformer;
+
+/**
+ * For every cell of a level, the row of the nearest solid tile at or below it (-1 = open to the bottom),
+ * so "where would I land" and "is there a ledge" are one array read instead of a walk down the column.
+ *
+ * Stored column-major so each column is contiguous.
+ */
+public class GroundMap {
+
+    private final int rows;
+    private final int cols;
+
+    // Level tiles (shared, row-major, row 0 = bottom)
+    private final byte[] tiles;
+
+    // groundRow[col * rows + row]
+    private final short[] groundRow;
+
+    public GroundMap(byte[] tiles, int rows, int cols) {
+        if (rows > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Level too tall for a ground map: " + rows + " rows");
+        }
+
+        this.rows = rows;
+        this.cols = cols;
+        this.tiles = tiles;
+        this.groundRow = new short[rows * cols];
+
+        int col = 0;
+        while (col < cols) {
+            int below = -1;
+            int row = 0;
+            while (row < rows) {
+                if (Tiles.is(tiles[row * cols + col], Tiles.FLAG_SOLID)) {
+                    below = row;
+                }
+                groundRow[col * rows + row] = (short) below;
+                row = row + 1;
+            }
+            col = col + 1;
+        }
+    }
+
+    /**
+     * Nearest solid row at or below (col, row), -1 if none. Caller has already bounds-checked.
+     */
+    public int getGroundRow(int col, int row) {
+        return groundRow[col * rows + row];
+    }
+}
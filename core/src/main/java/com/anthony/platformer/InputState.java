@@ -0,0 +1,26 @@
+package com.anthony.platformer;
+
+/**
+ * Snapshot of the buttons the simulation cares about for one tick.
+ * The game fills this from keyboard/controller; headless runs fill it from a script.
+ */
+public class InputState {
+    public boolean left;
+    public boolean right;
+    public boolean jump;
+    public boolean attack;
+
+    public void clear() {
+        left = false;
+        right = false;
+        jump = false;
+        attack = false;
+    }
+
+    public void set(InputState other) {
+        left = other.left;
+        right = other.right;
+        jump = other.jump;
+        attack = other.attack;
+    }
+}
@@ -1,21 +1,46 @@
 package com.anthony.platformer;
 
+import com.anthony.platformer.data.GameConfig;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
 public class Level {
 
     // Size in tiles
     private final int rows;
     private final int cols;
 
-    // Tile data: 0 = empty, 1 = solid, 2 = red door
-    private final int[][] tiles;
+    // Tile ids (see Tiles), row-major: tiles[row * cols + col], row 0 = bottom.
+    // Null for streamed levels, which read through the chunk cache instead.
+    private final byte[] tiles;
+    private final ChunkedTiles streamed;
+
+    // Nearest ground below every cell. Null for streamed levels.
+    private final GroundMap groundMap;
+
+    // Walkable platforms, found at load. Null for streamed levels.
+    private final PlatformGraph platforms;
 
     // Tile size in pixels
     private final int tileSize;
 
-    // Where the player should spawn in this level (world coordinates, pixels)
+    // Where the player should spawn in this level (tile, and world coordinates in pixels)
+    private final int spawnRow;
+    private final int spawnCol;
     private final float spawnX;
     private final float spawnY;
 
+    // Door volumes found at parse time, plus which one covers each door cell (row * cols + col -> id).
+    // Sparse: it grows with the doors, not the map area
+    private final List<DoorTrigger> triggers = new ArrayList<DoorTrigger>();
+    private final IntIntMap triggerAtCell = new IntIntMap();
+
+    // Enemy spawn markers with their ground and patrol bounds resolved, row-major like a grid scan
+    private final List<EnemySpawn> enemySpawns = new ArrayList<EnemySpawn>();
+
     public Level(String[] layout, int tileSize, int spawnRow, int spawnCol) {
         if (layout == null || layout.length == 0) {
             throw new IllegalArgumentException("Layout cannot be null or empty");
@@ -26,7 +51,10 @@ public class Level {
         this.rows = layout.length;
         this.cols = layout[0].length();
 
-        this.tiles = new int[rows][cols];
+        this.tiles = new byte[rows * cols];
+        this.streamed = null;
+
+        IntArray spawnCells = new IntArray();
 
         int rowIndex = 0;
         while (rowIndex < rows) {
@@ -41,38 +69,11 @@ public class Level {
 
             int colIndex = 0;
             while (colIndex < cols) {
-                char c = line.charAt(colIndex);
-
-                if (c == '#') {
-                    tiles[rowIndex][colIndex] = 1; // grass
-                } else if (c == 'd') {
-                    tiles[rowIndex][colIndex] = 4; // dirt
-                } else if (c == 'r') {
-                    tiles[rowIndex][colIndex] = 5; // right top grass
-                } else if (c == 'l') {
-                    tiles[rowIndex][colIndex] = 6; // left top grass
-                } else if (c == 's') {
-                    tiles[rowIndex][colIndex] = 7; // left dirt
-                } else if (c == 'f') {
-                    tiles[rowIndex][colIndex] = 8; // right dirt
-                } else if (c == 'b') {
-                    tiles[rowIndex][colIndex] = 9; // bottom dirt
-                } else if (c == 'q') {
-                    tiles[rowIndex][colIndex] = 10; // right bottom dirt
-                } else if (c == 'w') {
-                    tiles[rowIndex][colIndex] = 11; // left bottom dirt
-                } else if (c == 'y') {
-                    tiles[rowIndex][colIndex] = 12; // rounded grass section
-                } else if (c == 't') {
-                    tiles[rowIndex][colIndex] = 13; // rounded grass section flip
-                } else if (c == '?') {
-                    tiles[rowIndex][colIndex] = 2; // red door
-                } else if (c == 'e') {
-                    tiles[rowIndex][colIndex] = 20; // enemy spawn tile id
-                } else if (c == '>') {
-                    tiles[rowIndex][colIndex] = 3; // aqua door
-                } else {
-                    tiles[rowIndex][colIndex] = 0; // empty
+                int tile = Tiles.fromChar(line.charAt(colIndex));
+                tiles[rowIndex * cols + colIndex] = (byte) tile;
+
+                if (Tiles.is(tile, Tiles.FLAG_SPAWN)) {
+                    spawnCells.add(rowIndex * cols + colIndex);
                 }
 
                 colIndex = colIndex + 1;
@@ -85,8 +86,147 @@ public class Level {
         // This uses the same logic you already had:
         // x = col * tileSize
         // y = (row * tileSize) + tileSize (stand on top of the tile)
+        this.spawnRow = spawnRow;
+        this.spawnCol = spawnCol;
         this.spawnX = spawnCol * tileSize;
         this.spawnY = (spawnRow * tileSize) + tileSize;
+
+        buildTriggers();
+
+        this.groundMap = new GroundMap(tiles, rows, cols);
+        this.platforms = new PlatformGraph(this);
+
+        // Needs the whole grid, so only once every row is in
+        int s = 0;
+        while (s < spawnCells.size) {
+            int cell = spawnCells.get(s);
+            int row = cell / cols;
+            int col = cell - row * cols;
+            addEnemySpawn(col, row, findGroundRowBelow(col, row));
+            s = s + 1;
+        }
+    }
+
+    /**
+     * Builds a level from already-decoded data (see LevelFile): no parsing, no scans.
+     * {@code doors} is 4 ints per door (type, col, row, heightTiles), {@code enemySpawns} 2 per spawn
+     * (cell, groundRow); the arrays are used as-is.
+     */
+    Level(int rows, int cols, byte[] tiles, int tileSize, int spawnRow, int spawnCol, int[] doors, int[] enemySpawns) {
+        this(rows, cols, tiles, null, tileSize, spawnRow, spawnCol, doors, enemySpawns);
+    }
+
+    /**
+     * Streamed level (see ChunkedLevelFile): tiles are paged in by {@code streamed}, so nothing here
+     * grows with the map area.
+     */
+    Level(int rows, int cols, ChunkedTiles streamed, int tileSize, int spawnRow, int spawnCol, int[] doors, int[] enemySpawns) {
+        this(rows, cols, null, streamed, tileSize, spawnRow, spawnCol, doors, enemySpawns);
+    }
+
+    private Level(int rows, int cols, byte[] tiles, ChunkedTiles streamed, int tileSize, int spawnRow, int spawnCol,
+                  int[] doors, int[] enemySpawns) {
+        this.rows = rows;
+        this.cols = cols;
+        this.tiles = tiles;
+        this.streamed = streamed;
+        this.tileSize = tileSize;
+
+        this.spawnRow = spawnRow;
+        this.spawnCol = spawnCol;
+        this.spawnX = spawnCol * tileSize;
+        this.spawnY = (spawnRow * tileSize) + tileSize;
+
+        this.groundMap = tiles != null ? new GroundMap(tiles, rows, cols) : null;
+
+        int d = 0;
+        while (d + 3 < doors.length) {
+            addTrigger(doors[d], doors[d + 1], doors[d + 2], doors[d + 3]);
+            d = d + 4;
+        }
+
+        // Needs the tiles and ground map; a streamed level would have to page in the whole map
+        this.platforms = tiles != null ? new PlatformGraph(this) : null;
+
+        int s = 0;
+        while (s + 1 < enemySpawns.length) {
+            int cell = enemySpawns[s];
+            int row = cell / cols;
+            addEnemySpawn(cell - row * cols, row, enemySpawns[s + 1]);
+            s = s + 2;
+        }
+    }
+
+    /**
+     * Groups door tiles into triggers: each vertical run of the same door type in a column is one door.
+     */
+    private void buildTriggers() {
+        int col = 0;
+        while (col < cols) {
+            int row = 0;
+            while (row < rows) {
+                int type = doorTypeAt(col, row);
+                if (type < 0) {
+                    row = row + 1;
+                    continue;
+                }
+
+                int startRow = row;
+                while (row < rows && doorTypeAt(col, row) == type) {
+                    row = row + 1;
+                }
+
+                addTrigger(type, col, startRow, row - startRow);
+            }
+            col = col + 1;
+        }
+    }
+
+    private void addTrigger(int type, int col, int startRow, int heightTiles) {
+        int id = triggers.size();
+        triggers.add(new DoorTrigger(id, type, col, startRow, heightTiles, tileSize));
+
+        int r = startRow;
+        while (r < startRow + heightTiles) {
+            triggerAtCell.put(r * cols + col, id);
+            r = r + 1;
+        }
+    }
+
+    private void addEnemySpawn(int col, int row, int groundRow) {
+        int segment = -1;
+        if (platforms != null && groundRow >= 0) {
+            segment = platforms.findSegmentUnder(col * tileSize, GameConfig.ENEMY_WIDTH, (groundRow + 1) * tileSize);
+        }
+        enemySpawns.add(new EnemySpawn(col, row, groundRow, segment, tileSize, cols * tileSize));
+    }
+
+    /**
+     * First row below the marker at (col, row) where an enemy standing there would land,
+     * or -1 if it would fall out of the map. Off-map columns count as solid.
+     */
+    private int findGroundRowBelow(int col, int row) {
+        int colRight = (int) ((col * tileSize + GameConfig.ENEMY_WIDTH - 1f) / tileSize);
+
+        // The highest ground under any of the enemy's columns is what it lands on
+        int groundRow = -1;
+        int c = col;
+        while (c <= colRight) {
+            groundRow = Math.max(groundRow, getGroundRowBelow(c, row - 1));
+            c = c + 1;
+        }
+        return groundRow;
+    }
+
+    private int doorTypeAt(int col, int row) {
+        int flags = getFlags(col, row, 0);
+        if ((flags & Tiles.FLAG_DOOR_RED) != 0) {
+            return DoorTrigger.TYPE_RED;
+        }
+        if ((flags & Tiles.FLAG_DOOR_AQUA) != 0) {
+            return DoorTrigger.TYPE_AQUA;
+        }
+        return -1;
     }
 
     // -------- Getters --------
@@ -103,6 +243,14 @@ public class Level {
         return tileSize;
     }
 
+    public int getSpawnRow() {
+        return spawnRow;
+    }
+
+    public int getSpawnCol() {
+        return spawnCol;
+    }
+
     public float getSpawnX() {
         return spawnX;
     }
@@ -118,24 +266,133 @@ public class Level {
         if (col < 0 || col >= cols) {
             return 0;
         }
-        return tiles[row][col];
+        if (tiles == null) {
+            return streamed.getTile(col, row);
+        }
+        return tiles[row * cols + col];
+    }
+
+    /**
+     * Tiles flags at (col, row), or {@code outside} when the cell is off the map.
+     */
+    public int getFlags(int col, int row, int outside) {
+        if (col < 0 || col >= cols || row < 0 || row >= rows) {
+            return outside;
+        }
+        if (tiles == null) {
+            return Tiles.flags(streamed.getTile(col, row));
+        }
+        return Tiles.flags(tiles[row * cols + col]);
+    }
+
+    /**
+     * Row of the nearest solid tile at or below (col, row), or -1 if the column is open to the bottom.
+     * Off the map counts as solid (returns {@code row}), like enemy collision.
+     */
+    public int getGroundRowBelow(int col, int row) {
+        if (col < 0 || col >= cols || row < 0 || row >= rows) {
+            return row;
+        }
+        if (groundMap != null) {
+            return groundMap.getGroundRow(col, row);
+        }
+
+        // Streamed: no map (it would need every chunk), walk down through the chunk cache
+        int r = row;
+        while (r >= 0) {
+            if (Tiles.is(streamed.getTile(col, r), Tiles.FLAG_SOLID)) {
+                return r;
+            }
+            r = r - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Walkable platform segments, or null for streamed levels.
+     */
+    public PlatformGraph getPlatforms() {
+        return platforms;
+    }
+
+    public boolean isStreamed() {
+        return streamed != null;
+    }
+
+    /**
+     * The chunk cache behind a streamed level, null otherwise.
+     */
+    public ChunkedTiles getStreamedTiles() {
+        return streamed;
+    }
+
+    /**
+     * Releases the level file and reader thread of a streamed level. No-op otherwise.
+     */
+    public void close() {
+        if (streamed != null) {
+            streamed.close();
+        }
     }
 
     public boolean isSolidTile(int col, int row) {
-        int value = getTile(row, col);
-        if (value == 1 || value == 5 || value == 6 || value == 7) {
-            return true;
+        return (getFlags(col, row, 0) & Tiles.FLAG_SOLID) != 0;
+    }
+
+    /**
+     * Enemy spawns, row-major (bottom row first). Don't modify.
+     */
+    public List<EnemySpawn> getEnemySpawns() {
+        return enemySpawns;
+    }
+
+    // Raw tile ids, row-major, for LevelFile. Don't modify. Null for streamed levels.
+    byte[] getTileData() {
+        return tiles;
+    }
+
+    public List<DoorTrigger> getTriggers() {
+        return triggers;
+    }
+
+    /**
+     * Collects the ids of the doors overlapping the box into {@code out} (cleared first, no duplicates).
+     * Only the cells under the box are looked at.
+     */
+    public void queryTriggers(float x, float y, float width, float height, IntArray out) {
+        out.clear();
+
+        if (triggers.isEmpty()) {
+            return;
+        }
+
+        float right = x + width;
+        float top = y + height;
+
+        int minCol = Math.max(0, (int) (x / tileSize));
+        int maxCol = Math.min(cols - 1, (int) (right / tileSize));
+        int minRow = Math.max(0, (int) (y / tileSize));
+        int maxRow = Math.min(rows - 1, (int) (top / tileSize));
+
+        int row = minRow;
+        while (row <= maxRow) {
+            int col = minCol;
+            while (col <= maxCol) {
+                int id = triggerAtCell.get(row * cols + col, -1);
+                if (id >= 0 && !out.contains(id) && triggers.get(id).overlaps(x, y, right, top)) {
+                    out.add(id);
+                }
+                col = col + 1;
+            }
+            row = row + 1;
         }
-        return false;
     }
 
     public boolean isDoorTile(int col, int row) {
-        int value = getTile(row, col);
-        return value == 2;
+        return (getFlags(col, row, 0) & Tiles.FLAG_DOOR_RED) != 0;
     }
 
     public boolean isAquaDoorTile(int col, int row) {
-        int value = getTile(row, col);
-        return value == 3;
+        return (getFlags(col, row, 0) & Tiles.FLAG_DOOR_AQUA) != 0;
     }
 }
@@ -0,0 +1,52 @@
+package com.anthony.platformer;
+
+import com.anthony.platformer.data.GameConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Build step: parses every level in the default registry that has a compiledName and writes
+ * levels/NAME.lvl (see LevelFile), or levels/NAME.lvc (ChunkedLevelFile) for maps big enough to stream.
+ * Run through Gradle with {@code ./gradlew core:compileLevels}.
+ *
+ * Usage: LevelCompiler [outputDir]   (default: assets/levels)
+ */
+public class LevelCompiler {
+
+    public static void main(String[] args) throws IOException {
+        Path outputDir = Paths.get(args.length > 0 ? args[0] : "assets/" + LevelFile.DIRECTORY);
+
+        List<LevelInfo> levels = LevelRegistry.createDefault().getAll();
+
+        int n = 0;
+        while (n < levels.size()) {
+            LevelInfo info = levels.get(n);
+            n = n + 1;
+            if (info.compiledName == null) {
+                continue;
+            }
+
+            int levelNumber = info.id;
+            Level level = info.parse();
+            Path path = outputDir.resolve(LevelFile.fileName(info.compiledName));
+            Path streamedPath = outputDir.resolve(ChunkedLevelFile.fileName(info.compiledName));
+
+            // Only one of the two may exist, LevelFile.load prefers the streamed one
+            if ((long) level.getRows() * level.getCols() >= GameConfig.STREAM_LEVEL_MIN_TILES) {
+                ChunkedLevelFile.write(level, streamedPath, GameConfig.STREAM_CHUNK_TILES);
+                Files.deleteIfExists(path);
+                path = streamedPath;
+            } else {
+                LevelFile.write(level, path);
+                Files.deleteIfExists(streamedPath);
+            }
+
+            System.out.println("Level " + levelNumber + ": " + level.getCols() + "x" + level.getRows()
+                + ", " + level.getTriggers().size() + " doors, " + level.getEnemySpawns().size() + " spawns -> " + path);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.anthony.platformer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compiled level files (levels/NAME.lvl, NAME = LevelInfo.compiledName), written by LevelCompiler at
+ * build time.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * int magic "PLVL", int version
+ * int cols, int rows, int tileSize, int spawnRow, int spawnCol
+ * int doorCount,  doorCount * (int type, int col, int row, int heightTiles)
+ * int spawnCount, spawnCount * (int cell, int groundRow)      cell = row * cols + col, groundRow -1 = none
+ * byte[rows * cols] tile ids, row-major, row 0 = bottom
+ * </pre>
+ * Loading maps the file and bulk-copies the tiles: no per-char parsing, no door/spawn scans.
+ * Levels too big to keep resident use ChunkedLevelFile (.lvc) instead; {@link #load} prefers those.
+ */
+public final class LevelFile {
+
+    public static final int MAGIC = 0x504C564C; // "PLVL"
+    public static final int VERSION = 2;
+
+    // Relative to the working directory (assets/ when run through Gradle), or on the classpath
+    public static final String DIRECTORY = "levels";
+
+    private LevelFile() {}
+
+    public static String fileName(String compiledName) {
+        return compiledName + ".lvl";
+    }
+
+    /**
+     * Loads the level compiled as {@code compiledName}, or returns null if there's no file for it
+     * (or it was written by an older version) so the caller can parse the source instead.
+     */
+    public static Level load(String compiledName) {
+        // Big maps are compiled to chunk files and streamed (disk only, not from a jar)
+        Path streamedPath = Paths.get(DIRECTORY, ChunkedLevelFile.fileName(compiledName));
+        if (Files.isRegularFile(streamedPath)) {
+            try {
+                return ChunkedLevelFile.open(streamedPath);
+            } catch (IOException e) {
+                throw new IllegalStateException("Couldn't open " + streamedPath.toAbsolutePath(), e);
+            }
+        }
+
+        String name = DIRECTORY + "/" + fileName(compiledName);
+
+        Path path = Paths.get(name);
+        if (Files.isRegularFile(path)) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } catch (IOException e) {
+                throw new IllegalStateException("Couldn't read " + path.toAbsolutePath(), e);
+            }
+        }
+
+        // Packaged jar: assets are resources, not files
+        try (InputStream in = LevelFile.class.getResourceAsStream("/" + name)) {
+            if (in == null) {
+                return null;
+            }
+            return read(ByteBuffer.wrap(in.readAllBytes()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Couldn't read resource " + name, e);
+        }
+    }
+
+    /**
+     * Decodes a level, or returns null if the data is from a different format version.
+     */
+    public static Level read(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalStateException("Not a level file (bad magic)");
+        }
+        if (buffer.getInt() != VERSION) {
+            return null;
+        }
+
+        int cols = buffer.getInt();
+        int rows = buffer.getInt();
+        int tileSize = buffer.getInt();
+        int spawnRow = buffer.getInt();
+        int spawnCol = buffer.getInt();
+
+        int[] doors = new int[buffer.getInt() * 4];
+        buffer.asIntBuffer().get(doors);
+        buffer.position(buffer.position() + doors.length * 4);
+
+        int[] enemySpawns = new int[buffer.getInt() * 2];
+        buffer.asIntBuffer().get(enemySpawns);
+        buffer.position(buffer.position() + enemySpawns.length * 4);
+
+        byte[] tiles = new byte[rows * cols];
+        buffer.get(tiles);
+
+        return new Level(rows, cols, tiles, tileSize, spawnRow, spawnCol, doors, enemySpawns);
+    }
+
+    public static void write(Level level, Path path) throws IOException {
+        int doorCount = level.getTriggers().size();
+        int spawnCount = level.getEnemySpawns().size();
+        byte[] tiles = level.getTileData();
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 * 9 + doorCount * 16 + spawnCount * 8 + tiles.length);
+
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+
+        buffer.putInt(level.getCols());
+        buffer.putInt(level.getRows());
+        buffer.putInt(level.getTileSize());
+        buffer.putInt(level.getSpawnRow());
+        buffer.putInt(level.getSpawnCol());
+
+        buffer.putInt(doorCount);
+        int d = 0;
+        while (d < doorCount) {
+            DoorTrigger door = level.getTriggers().get(d);
+            buffer.putInt(door.type);
+            buffer.putInt(door.col);
+            buffer.putInt(door.row);
+            buffer.putInt(door.heightTiles);
+            d = d + 1;
+        }
+
+        buffer.putInt(spawnCount);
+        int s = 0;
+        while (s < spawnCount) {
+            EnemySpawn spawn = level.getEnemySpawns().get(s);
+            buffer.putInt(spawn.row * level.getCols() + spawn.col);
+            buffer.putInt(spawn.groundRow);
+            s = s + 1;
+        }
+
+        buffer.put(tiles);
+        buffer.flip();
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
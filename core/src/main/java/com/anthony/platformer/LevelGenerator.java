@@ -0,0 +1,150 @@
+package com.anthony.platformer;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Seeded synthetic level layouts for stress runs: any size, any number of enemy spawns, same
+ * layout for the same seed. Same text format as Levels.LEVEL_* (row 0 = bottom), so they load
+ * through the normal LevelInfo.parse path.
+ *
+ * What you get: a solid floor along the bottom, floating platforms in bands above it (three open
+ * rows between bands, so nothing is ever wedged in), short pillars on the floor for walls to run
+ * into, and the spawns scattered over the walkable cells. The player starts on the floor at the
+ * left edge, with a few clear tiles around it.
+ */
+public class LevelGenerator {
+
+    // Player spawn: standing on the floor (row 0) at this column
+    public static final int SPAWN_ROW = 0;
+    public static final int SPAWN_COL = 2;
+
+    // No enemy spawns this close (in columns) to the player spawn
+    private static final int SPAWN_CLEAR_COLS = 8;
+
+    // Platform bands: a band every BAND_ROWS rows, platforms MIN..MAX tiles long, gaps MIN..MAX
+    private static final int BAND_ROWS = 4;
+    private static final int PLATFORM_MIN = 4;
+    private static final int PLATFORM_MAX = 24;
+    private static final int GAP_MIN = 2;
+    private static final int GAP_MAX = 8;
+
+    // Floor pillars: one in roughly every PILLAR_EVERY columns, up to PILLAR_MAX_HEIGHT tiles tall
+    private static final int PILLAR_EVERY = 32;
+    private static final int PILLAR_MAX_HEIGHT = 2;
+
+    private LevelGenerator() {}
+
+    /**
+     * A registry entry for a generated level. The layout is only built when the level is loaded.
+     */
+    public static LevelInfo info(int id, long seed, int cols, int rows, int enemyCount) {
+        return new LevelInfo(id, () -> generate(seed, cols, rows, enemyCount), SPAWN_ROW, SPAWN_COL, -1, -1);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the size is too small, or there aren't enough walkable
+     *                                  cells for {@code enemyCount} spawns
+     */
+    public static String[] generate(long seed, int cols, int rows, int enemyCount) {
+        if (cols < SPAWN_CLEAR_COLS * 2 || rows < BAND_ROWS) {
+            throw new IllegalArgumentException("Level too small: " + cols + "x" + rows
+                + " (at least " + SPAWN_CLEAR_COLS * 2 + "x" + BAND_ROWS + ")");
+        }
+        if (enemyCount < 0) {
+            throw new IllegalArgumentException("enemyCount must be >= 0: " + enemyCount);
+        }
+
+        Random random = new Random(seed);
+
+        char[][] cells = new char[rows][cols];
+        int row = 0;
+        while (row < rows) {
+            Arrays.fill(cells[row], '.');
+            row = row + 1;
+        }
+
+        // ---------------- FLOOR ----------------
+        Arrays.fill(cells[0], '#');
+
+        // ---------------- PILLARS ----------------
+        int col = SPAWN_CLEAR_COLS;
+        while (col < cols - 1) {
+            if (random.nextInt(PILLAR_EVERY) == 0) {
+                int height = 1 + random.nextInt(PILLAR_MAX_HEIGHT);
+                int r = 1;
+                while (r <= height && r < rows - BAND_ROWS) {
+                    cells[r][col] = '#';
+                    r = r + 1;
+                }
+            }
+            col = col + 1;
+        }
+
+        // ---------------- PLATFORM BANDS ----------------
+        // Keep the top band under the ceiling with room to stand on it
+        row = BAND_ROWS;
+        while (row < rows - BAND_ROWS + 1) {
+            col = random.nextInt(GAP_MAX);
+            while (col < cols) {
+                int length = PLATFORM_MIN + random.nextInt(PLATFORM_MAX - PLATFORM_MIN + 1);
+                int end = Math.min(cols, col + length);
+                Arrays.fill(cells[row], col, end, '#');
+                col = end + GAP_MIN + random.nextInt(GAP_MAX - GAP_MIN + 1);
+            }
+            row = row + BAND_ROWS;
+        }
+
+        // ---------------- ENEMY SPAWNS ----------------
+        placeSpawns(cells, rows, cols, enemyCount, random);
+
+        String[] layout = new String[rows];
+        row = 0;
+        while (row < rows) {
+            layout[row] = new String(cells[row]);
+            row = row + 1;
+        }
+        return layout;
+    }
+
+    /**
+     * Picks {@code enemyCount} distinct walkable cells (open, solid below, open above) with a partial
+     * shuffle, so the choice is uniform and the same for the same seed.
+     */
+    private static void placeSpawns(char[][] cells, int rows, int cols, int enemyCount, Random random) {
+        if (enemyCount == 0) {
+            return;
+        }
+
+        IntArray candidates = new IntArray();
+        int row = 1;
+        while (row < rows - 1) {
+            int col = SPAWN_CLEAR_COLS;
+            while (col < cols) {
+                if (cells[row][col] == '.' && cells[row + 1][col] == '.' && cells[row - 1][col] == '#') {
+                    candidates.add(row * cols + col);
+                }
+                col = col + 1;
+            }
+            row = row + 1;
+        }
+
+        if (enemyCount > candidates.size) {
+            throw new IllegalArgumentException("Only room for " + candidates.size + " enemy spawns, asked for " + enemyCount);
+        }
+
+        int[] items = candidates.items;
+        int i = 0;
+        while (i < enemyCount) {
+            int pick = i + random.nextInt(candidates.size - i);
+            int cell = items[pick];
+            items[pick] = items[i];
+            items[i] = cell;
+
+            cells[cell / cols][cell % cols] = 'e';
+            i = i + 1;
+        }
+    }
+}
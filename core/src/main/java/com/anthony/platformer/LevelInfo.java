@@ -0,0 +1,60 @@
+package com.anthony.platformer;
+
+import com.anthony.platformer.data.GameConfig;
+
+import java.util.function.Supplier;
+
+/**
+ * One node of the level graph: where a level's layout comes from, where the player spawns,
+ * and which level each door colour leads to (-1 = that door goes nowhere).
+ */
+public class LevelInfo {
+
+    public final int id;
+
+    public final int spawnRow;
+    public final int spawnCol;
+
+    public final int redDoorTarget;
+    public final int aquaDoorTarget;
+
+    // Base name of the level's compiled file in LevelFile.DIRECTORY (LevelFile / ChunkedLevelFile add
+    // the extension), or null for levels that are never compiled (generated ones, benchmark arenas):
+    // those always parse their layout, whatever their id
+    public final String compiledName;
+
+    // Fetched only when the level has to be parsed, so the big layout constants stay unloaded otherwise
+    private final Supplier<String[]> layout;
+
+    public LevelInfo(int id, Supplier<String[]> layout, int spawnRow, int spawnCol, int redDoorTarget, int aquaDoorTarget) {
+        this(id, layout, null, spawnRow, spawnCol, redDoorTarget, aquaDoorTarget);
+    }
+
+    public LevelInfo(int id, Supplier<String[]> layout, String compiledName, int spawnRow, int spawnCol,
+                     int redDoorTarget, int aquaDoorTarget) {
+        this.id = id;
+        this.layout = layout;
+        this.compiledName = compiledName;
+        this.spawnRow = spawnRow;
+        this.spawnCol = spawnCol;
+        this.redDoorTarget = redDoorTarget;
+        this.aquaDoorTarget = aquaDoorTarget;
+    }
+
+    public int getDoorTarget(int doorType) {
+        if (doorType == DoorTrigger.TYPE_RED) {
+            return redDoorTarget;
+        }
+        if (doorType == DoorTrigger.TYPE_AQUA) {
+            return aquaDoorTarget;
+        }
+        return -1;
+    }
+
+    /**
+     * Builds the level from its text layout (the slow path; see LevelFile for the compiled one).
+     */
+    public Level parse() {
+        return new Level(layout.get(), GameConfig.TILE_SIZE, spawnRow, spawnCol);
+    }
+}
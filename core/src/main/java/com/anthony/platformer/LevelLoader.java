@@ -0,0 +1,285 @@
+package com.anthony.platformer;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Hands out the Level for a level id, as cheaply as it can:
+ * <ol>
+ * <li>from a small LRU cache of levels already built (revisits cost nothing),</li>
+ * <li>from a background preload of a door target (see {@link #preload}), waiting for it if it's
+ * already being built,</li>
+ * <li>or by loading it now: the compiled file, else parsing its layout from the registry.</li>
+ * </ol>
+ * The loader owns every Level it returns; evicted levels are closed.
+ */
+public class LevelLoader {
+
+    private final LevelRegistry registry;
+    private final ExecutorService worker;
+
+    // Built levels by id, least recently used first
+    private final Map<Integer, Level> cache;
+    private final int cacheSize;
+
+    // Levels being (or already) built in the background, at most one per level number
+    private final List<Preload> preloads = new ArrayList<Preload>();
+
+    // Stats: served from the cache / by a finished preload / by a preload still running when needed
+    // (waited for) / preload still queued when needed (cancelled, loaded on the calling thread)
+    private int cacheHits = 0;
+    private int hits = 0;
+    private int waits = 0;
+    private int misses = 0;
+
+    private static class Preload {
+        final int levelNumber;
+        Future<?> future;
+
+        // Guarded by this: the finished level (null until done), started = the worker picked it up,
+        // discarded = nobody wants it
+        Level level;
+        boolean started;
+        boolean discarded;
+
+        Preload(int levelNumber) {
+            this.levelNumber = levelNumber;
+        }
+    }
+
+    public LevelLoader(LevelRegistry registry, int cacheSize) {
+        if (cacheSize < 2) {
+            // The current level plus the one being entered must both fit
+            throw new IllegalArgumentException("cacheSize must be >= 2: " + cacheSize);
+        }
+
+        this.registry = registry;
+        this.cacheSize = cacheSize;
+        this.cache = new LinkedHashMap<Integer, Level>(16, 0.75f, true);
+
+        worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "level-preloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads the level right now on the calling thread, bypassing cache and preloads: its compiled
+     * file if the entry names one and it's there, otherwise its layout.
+     */
+    public static Level loadNow(LevelInfo info) {
+        Level level = null;
+        if (info.compiledName != null) {
+            level = LevelFile.load(info.compiledName);
+        }
+        if (level == null) {
+            // No compiled file (e.g. run from the IDE without compileLevels): parse the source
+            level = info.parse();
+        }
+        return level;
+    }
+
+    public LevelRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Level {@code levelNumber}, from the cache, a finished preload, or loaded now.
+     * It stays owned by the loader; don't close it.
+     */
+    public Level get(int levelNumber) {
+        Level level = cache.get(levelNumber);
+        if (level != null) {
+            cacheHits = cacheHits + 1;
+            return level;
+        }
+
+        LevelInfo info = registry.get(levelNumber);
+
+        level = take(levelNumber);
+        if (level == null) {
+            level = loadNow(info);
+        }
+
+        cache.put(levelNumber, level);
+        evictDownTo(cacheSize);
+        return level;
+    }
+
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * Levels needed while their preload was being built, and waited for.
+     */
+    public int getWaits() {
+        return waits;
+    }
+
+    /**
+     * Levels needed while their preload was still queued behind others, and loaded on the spot.
+     */
+    public int getMisses() {
+        return misses;
+    }
+
+    /**
+     * Starts building every level in {@code levelNumbers} that isn't cached or already queued,
+     * and drops preloads for levels not in the list.
+     */
+    public void preload(IntArray levelNumbers) {
+        int p = preloads.size() - 1;
+        while (p >= 0) {
+            Preload preload = preloads.get(p);
+            if (!levelNumbers.contains(preload.levelNumber)) {
+                discard(preload);
+                preloads.remove(p);
+            }
+            p = p - 1;
+        }
+
+        int n = 0;
+        while (n < levelNumbers.size) {
+            int levelNumber = levelNumbers.get(n);
+            if (!cache.containsKey(levelNumber) && find(levelNumber) == null) {
+                Preload preload = new Preload(levelNumber);
+                preload.future = worker.submit(() -> build(preload));
+                preloads.add(preload);
+            }
+            n = n + 1;
+        }
+    }
+
+    /**
+     * Level {@code levelNumber} from its preload, or null if there's none (or it failed).
+     *
+     * A preload the worker is already building is waited for: loading the same level again here
+     * would only race it for CPU and disk. One still queued is cancelled and left to the caller.
+     */
+    private Level take(int levelNumber) {
+        Preload preload = find(levelNumber);
+        if (preload == null) {
+            return null;
+        }
+        preloads.remove(preload);
+
+        boolean building;
+        synchronized (preload) {
+            if (preload.level != null) {
+                Level level = preload.level;
+                preload.level = null;
+                hits = hits + 1;
+                return level;
+            }
+
+            building = preload.started;
+            if (!building) {
+                // build() checks this first, so the worker will skip it
+                preload.discarded = true;
+            }
+        }
+
+        if (!building) {
+            preload.future.cancel(false);
+            misses = misses + 1;
+            return null;
+        }
+
+        waits = waits + 1;
+        try {
+            preload.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // The caller's own load will throw the real error
+        }
+
+        synchronized (preload) {
+            Level level = preload.level;
+            preload.level = null;
+            if (level == null) {
+                // Failed or interrupted: nobody's going to take it after this
+                preload.discarded = true;
+            }
+            return level;
+        }
+    }
+
+    public void dispose() {
+        int p = 0;
+        while (p < preloads.size()) {
+            discard(preloads.get(p));
+            p = p + 1;
+        }
+        preloads.clear();
+        worker.shutdownNow();
+
+        evictDownTo(0);
+    }
+
+    private void evictDownTo(int size) {
+        Iterator<Level> eldestFirst = cache.values().iterator();
+        while (cache.size() > size && eldestFirst.hasNext()) {
+            Level evicted = eldestFirst.next();
+            eldestFirst.remove();
+            evicted.close();
+        }
+    }
+
+    private void build(Preload preload) {
+        synchronized (preload) {
+            if (preload.discarded) {
+                return;
+            }
+            preload.started = true;
+        }
+
+        Level level = loadNow(registry.get(preload.levelNumber));
+
+        synchronized (preload) {
+            if (preload.discarded) {
+                // Nobody's going to take it; a streamed level holds a file open
+                level.close();
+            } else {
+                preload.level = level;
+            }
+        }
+    }
+
+    private void discard(Preload preload) {
+        synchronized (preload) {
+            preload.discarded = true;
+            if (preload.level != null) {
+                preload.level.close();
+                preload.level = null;
+            }
+        }
+        preload.future.cancel(false);
+    }
+
+    private Preload find(int levelNumber) {
+        int p = 0;
+        while (p < preloads.size()) {
+            if (preloads.get(p).levelNumber == levelNumber) {
+                return preloads.get(p);
+            }
+            p = p + 1;
+        }
+        return null;
+    }
+}
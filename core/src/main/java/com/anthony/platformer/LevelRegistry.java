@@ -0,0 +1,59 @@
+package com.anthony.platformer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every level the game knows, by id, and how they connect through doors.
+ * Add a level here (and its layout in Levels) instead of touching World.
+ */
+public class LevelRegistry {
+
+    private final Map<Integer, LevelInfo> levels = new LinkedHashMap<Integer, LevelInfo>();
+
+    /**
+     * The shipped levels, the only ones with compiled files (LevelCompiler writes them).
+     * Red doors go 1 -> 2 -> 3 -> 1, aqua doors go 3 -> 4 -> 5 -> 6 -> 1.
+     */
+    public static LevelRegistry createDefault() {
+        LevelRegistry registry = new LevelRegistry();
+
+        //                          id  layout               compiled  spawn     red  aqua
+        registry.add(new LevelInfo(1, () -> Levels.LEVEL_1, "level1", 5, 2, 2, -1));
+        registry.add(new LevelInfo(2, () -> Levels.LEVEL_2, "level2", 55, 2, 3, -1));
+        registry.add(new LevelInfo(3, () -> Levels.LEVEL_3, "level3", 5, 2, 1, 4));
+        registry.add(new LevelInfo(4, () -> Levels.LEVEL_4, "level4", 5, 2, -1, 5));
+        registry.add(new LevelInfo(5, () -> Levels.LEVEL_5, "level5", 5, 2, -1, 6));
+        registry.add(new LevelInfo(6, () -> Levels.LEVEL_6, "level6", 5, 2, -1, 1));
+
+        return registry;
+    }
+
+    public void add(LevelInfo info) {
+        if (info.id <= 0) {
+            throw new IllegalArgumentException("Level ids start at 1: " + info.id);
+        }
+        levels.put(info.id, info);
+    }
+
+    public boolean contains(int levelNumber) {
+        return levels.containsKey(levelNumber);
+    }
+
+    public LevelInfo get(int levelNumber) {
+        LevelInfo info = levels.get(levelNumber);
+        if (info == null) {
+            throw new IllegalArgumentException("Unknown level number: " + levelNumber);
+        }
+        return info;
+    }
+
+    /**
+     * All levels, in the order they were added.
+     */
+    public List<LevelInfo> getAll() {
+        return new ArrayList<LevelInfo>(levels.values());
+    }
+}
@@ -0,0 +1,124 @@
+package com.anthony.platformer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The walkable platforms of a level and how they connect, extracted once when the level loads.
+ *
+ * Every solid tile with open space above it is walkable; each maximal run of those in a row is a
+ * PlatformSegment. AI asks "same platform?" with an int compare and finds its walking limits from
+ * the segment's extents instead of probing tiles ahead every tick.
+ *
+ * Off-map cells above the top row count as open.
+ */
+public class PlatformGraph {
+
+    private final int rows;
+    private final int cols;
+    private final int tileSize;
+
+    // Segments by id, in row-major order (bottom row first, left to right)
+    private final List<PlatformSegment> segments = new ArrayList<PlatformSegment>();
+
+    // Segment ids of row r are rowStart[r] .. rowStart[r + 1] - 1, left to right. Cell lookups
+    // binary-search these, so memory follows the segment count, not the map area
+    private final int[] rowStart;
+
+    public PlatformGraph(Level level) {
+        this.rows = level.getRows();
+        this.cols = level.getCols();
+        this.tileSize = level.getTileSize();
+
+        this.rowStart = new int[rows + 1];
+
+        buildSegments(level);
+    }
+
+    public int size() {
+        return segments.size();
+    }
+
+    public PlatformSegment get(int id) {
+        return segments.get(id);
+    }
+
+    /**
+     * Segment whose top is the solid tile (col, row), -1 if that tile isn't walkable or is off the map.
+     */
+    public int getSegmentAt(int col, int row) {
+        if (col < 0 || col >= cols || row < 0 || row >= rows) {
+            return -1;
+        }
+
+        // Last segment in the row starting at or left of col
+        int low = rowStart[row];
+        int high = rowStart[row + 1];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (segments.get(mid).leftCol <= col) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        if (low == rowStart[row] || !segments.get(low - 1).containsCol(col)) {
+            return -1;
+        }
+        return low - 1;
+    }
+
+    /**
+     * Segment a box of this width with its feet at (x, feetY) is standing on, or -1 if the feet aren't
+     * exactly on a tile top or no walkable tile is under them. Same columns as the collision pass.
+     */
+    public int findSegmentUnder(float x, float width, float feetY) {
+        int row = (int) (feetY / tileSize);
+        if (feetY != row * tileSize) {
+            return -1;
+        }
+
+        int minCol = (int) (x / tileSize);
+        int maxCol = (int) Math.ceil((x + width) / tileSize) - 1;
+
+        int col = minCol;
+        while (col <= maxCol) {
+            int segment = getSegmentAt(col, row - 1);
+            if (segment >= 0) {
+                return segment;
+            }
+            col = col + 1;
+        }
+        return -1;
+    }
+
+    private void buildSegments(Level level) {
+        int row = 0;
+        while (row < rows) {
+            rowStart[row] = segments.size();
+
+            int col = 0;
+            while (col < cols) {
+                if (!isWalkable(level, col, row)) {
+                    col = col + 1;
+                    continue;
+                }
+
+                int leftCol = col;
+                while (col < cols && isWalkable(level, col, row)) {
+                    col = col + 1;
+                }
+
+                segments.add(new PlatformSegment(segments.size(), row, leftCol, col - 1, tileSize));
+            }
+
+            row = row + 1;
+        }
+        rowStart[rows] = segments.size();
+    }
+
+    private boolean isWalkable(Level level, int col, int row) {
+        return level.isSolidTile(col, row) && !level.isSolidTile(col, row + 1);
+    }
+}
@@ -0,0 +1,35 @@
+package com.anthony.platformer;
+
+/**
+ * A walkable platform: a horizontal run of solid tiles in one row with open space above each of them.
+ * Built by PlatformGraph when the level loads.
+ */
+public class PlatformSegment {
+
+    public final int id;
+
+    // Tile extents: the solid row walked on, first and last column (inclusive)
+    public final int row;
+    public final int leftCol;
+    public final int rightCol;
+
+    // World extents (pixels): y is the surface you stand on
+    public final float leftX;
+    public final float rightX;
+    public final float y;
+
+    public PlatformSegment(int id, int row, int leftCol, int rightCol, int tileSize) {
+        this.id = id;
+        this.row = row;
+        this.leftCol = leftCol;
+        this.rightCol = rightCol;
+
+        this.leftX = leftCol * tileSize;
+        this.rightX = (rightCol + 1) * tileSize;
+        this.y = (row + 1) * tileSize;
+    }
+
+    public boolean containsCol(int col) {
+        return col >= leftCol && col <= rightCol;
+    }
+}
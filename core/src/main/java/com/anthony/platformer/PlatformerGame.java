@@ -7,37 +7,31 @@ import com.badlogic.gdx.Input;
 import com.badlogic.gdx.controllers.Controller;
 import com.badlogic.gdx.controllers.Controllers;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class PlatformerGame extends ApplicationAdapter {
 
     private SpriteBatch batch;
 
-    private Texture playerSheetTexture;
-    private Texture skeletonSheetTexture;
-
-    private Texture plainsSheetTexture;
-    private Texture grassTexture;
-    private Texture dirtTexture;
-    private Texture rightTopGrassTexture;
-    private Texture leftTopGrassTexture;
-    private Texture leftDirtTexture;
-    private Texture rightDirtTexture;
-    private Texture bottomDirtTexture;
-    private Texture leftBottomDirtTexture;
-    private Texture rightBottomDirtTexture;
-    private Texture roundedGrassTexture;
-    private Texture roundedGrassFlipTexture;
+    // Tiles and sprite sheets, from the packed atlas when it's been built
+    private GameArt art;
+
+    // Tile id -> region (null = not drawn)
+    private final TextureRegion[] tileRegions = new TextureRegion[Tiles.ID_COUNT];
+
+    // Static tile layer, rebaked whenever the world switches level
+    private final TileChunkCache tileChunks = new TileChunkCache();
 
     // Controller mapping (you may need to change these after you test)
     private static final int AXIS_LEFT_X = 0;
@@ -46,118 +40,70 @@ public class PlatformerGame extends ApplicationAdapter {
     private static final int BUTTON_A = 0;   // jump
     private static final int BUTTON_X = 2;   // attack
 
-    private boolean wasJumpDownLastFrame = false;
-    private boolean wasAttackDownLastFrame = false;
-
     private float spriteFootOffset = 42f; // pixels inside the 48x48 frame (tweak)
 
-    // ---------------- ANIMATIONS (PLAYER) ----------------
-    private Animation<TextureRegion> walkRightAnimation;
-    private Animation<TextureRegion> walkLeftAnimation;
-    private Animation<TextureRegion> attackRightAnimation;
-    private Animation<TextureRegion> attackLeftAnimation;
-
-    // Optional (Step 6): player death animation
-    private Animation<TextureRegion> deathRightAnimation;
-    private Animation<TextureRegion> deathLeftAnimation;
-
-    // ---------------- ANIMATIONS (ENEMY) ----------------
-    private Animation<TextureRegion> enemyWalkRightAnimation;
-    private Animation<TextureRegion> enemyWalkLeftAnimation;
-
-    // Step 6: enemy attack + death animations
-    private Animation<TextureRegion> enemyAttackRightAnimation;
-    private Animation<TextureRegion> enemyAttackLeftAnimation;
-    private Animation<TextureRegion> enemyDeathRightAnimation;
-    private Animation<TextureRegion> enemyDeathLeftAnimation;
-
-    // ---------------- PLAYER ATTACK TIMING ----------------
-    private float attackTimeSeconds = 0f;
-    private float attackDurationSeconds = 0f;
-
-    // ---------------- GLOBAL (PLAYER) ANIMATION TIME ----------------
-    private float playerAnimTimeSeconds = 0f;
-    private boolean playerDeathStarted = false;
+    // ---------------- ANIMATIONS ----------------
+    // Walk / attack / death clips and frame selection (the player's death clip is optional)
+    private CharacterAnimations playerAnimations;
+    private CharacterAnimations enemyAnimations;
 
     private ShapeRenderer shapeRenderer;
     private OrthographicCamera camera;
 
-    // ---------------- HITBOXES ----------------
-    private final Rectangle playerHurtbox = new Rectangle();
-    private final Rectangle playerSwordHitbox = new Rectangle();
-
-    // Optional: basic "invincibility" so you don't take damage every frame
-    private float playerHurtCooldownSeconds = 0f;
-    private static final float PLAYER_HURT_COOLDOWN = 0.50f;
-
-    private int playerHp = 5;
-
-    // Sword tuning
-    private static final float SWORD_WIDTH = 14f;
-    private static final float SWORD_HEIGHT = 10f;
-    private static final float SWORD_FORWARD_OFFSET = 10f;
-    private static final float SWORD_VERTICAL_OFFSET = 4f;
-
-    // ---------------- PLAYER DAMAGE COOLDOWNS ----------------
-    private float playerGlobalHurtLockSeconds = 0f;
-    private static final float PLAYER_GLOBAL_HURT_LOCK = 0.15f;
-
-    private float playerBodyHurtCooldownSeconds = 0f;
-    private static final float PLAYER_BODY_HURT_COOLDOWN = 0.60f;
-
-    private float playerSwordHurtCooldownSeconds = 0f;
-    private static final float PLAYER_SWORD_HURT_COOLDOWN = 0.40f;
-
-    // ---------------- HIT REACTION (PLAYER) ----------------
-    private float playerStunSeconds = 0f;
-    private float playerKnockbackVelX = 0f;
-
-    private static final float PLAYER_STUN_DURATION = 0.12f;
-    private static final float PLAYER_KNOCKBACK_SPEED = 260f;
-    private static final float PLAYER_KNOCKBACK_FRICTION = 1600f;
-
-    // ---------------- HIT REACTION (ENEMY) ----------------
-    private static final float ENEMY_STUN_DURATION = 0.10f;
-    private static final float ENEMY_KNOCKBACK_SPEED = 220f;
-    private static final float ENEMY_KNOCKBACK_FRICTION = 1400f;
-
-    // ---------------- TILE & WORLD SETTINGS ----------------
-
-    // Put this value in your Levels.LEVEL_X arrays wherever you want an enemy to spawn.
-    private static final int TILE_ENEMY_SPAWN = 20;
-
-    private Level currentLevel;
-
-    private int worldWidthPixels;
-    private int worldHeightPixels;
-
-    private int currentLevelNumber = 1;
-    private boolean wasTouchingDoorLastFrame = false;
-    private boolean wasTouchingAquaDoorLastFrame = false;
-
-    // ---------------- PLAYER SETTINGS ----------------
-    private float playerWidth = 16f;
-    private float playerHeight = 16f;
-
-    private float enemyWidth = 16f;
-    private float enemyHeight = 16f;
-
-    private float playerX;
-    private float playerY;
-
-    private float moveSpeed = 150f;
-
-    private float velocityY = 0f;
-    private float jumpVelocity = 300f;
-
-    // Enemy gravity can match player gravity
-    private static final float ENEMY_GRAVITY = -800f;
-    private static final float ENEMY_TERMINAL_VEL = -900f;
-
-
-    private boolean facingRight = true;
-    private boolean isMoving = false;
-    private boolean isAttacking = false;
+    // ---------------- SIMULATION ----------------
+    private World world;
+    private final InputState inputState = new InputState();
+
+    private final FixedTimestep timestep = new FixedTimestep(
+        GameConfig.SIM_TICKS_PER_SECOND, GameConfig.SIM_MAX_STEPS_PER_FRAME, GameConfig.SIM_MAX_FRAME_SECONDS);
+
+    // Jump / attack seen on frames that ran no tick, held over until a tick consumes them (the world
+    // only sees a press as a held button, so a tap between two ticks would otherwise be lost)
+    private boolean heldOverJump = false;
+    private boolean heldOverAttack = false;
+
+    // 0..1 between the previous and current tick, used for every draw position this frame
+    private float renderAlpha = 1f;
+
+    // Set when the simulation runs on its own thread (GameConfig.SIM_THREADED); render() then only
+    // hands it input and draws its snapshots
+    private final boolean threadedSimulation;
+    private SimulationThread simulation;
+
+    // What this frame draws. Single-threaded, frameSnapshot is bound to the live World (no copies)
+    private RenderSnapshot snapshot;
+    private final RenderSnapshot frameSnapshot = new RenderSnapshot();
+    private long simulatedTicks = 0;
+
+    // ---------------- CULLING ----------------
+    // What the camera sees this frame (world pixels), refreshed after camera.update()
+    private float viewLeft;
+    private float viewBottom;
+    private float viewRight;
+    private float viewTop;
+
+    // Same region as an inclusive tile range, clamped to the level
+    private int viewMinCol;
+    private int viewMaxCol;
+    private int viewMinRow;
+    private int viewMaxRow;
+
+    private final IntArray visibleDoors = new IntArray();
+
+    // ---------------- PROFILER ----------------
+    // Per-phase frame times, always recording; F3 shows the overlay, the session summary is written
+    // to PROFILE_FILE (next to the game) on exit. With the threaded simulation, World.step's phases
+    // come from the SimulationThread's own profiler, per tick instead of per frame
+    private static final int PROFILER_OVERLAY_KEY = Input.Keys.F3;
+    private static final String PROFILE_FILE = "frame-profile.csv";
+
+    private final FrameProfiler profiler = new FrameProfiler(GameConfig.PROFILER_WINDOW_FRAMES);
+    private boolean showProfiler = false;
+
+    private BitmapFont overlayFont;
+    private final Matrix4 overlayMatrix = new Matrix4();
+    private String overlayText = "";
+    private int overlayRefreshFrames = 0;
 
     // ---------------- SPRITE SHEET CONSTANTS ----------------
     private static final int FRAME_WIDTH = 48;
@@ -168,7 +114,7 @@ public class PlatformerGame extends ApplicationAdapter {
     private static final int WALK_FRAMES = 6;
 
     private static final int ATTACK_ROW = 7;
-    private static final int ATTACK_FRAMES = 4;
+    private static final int ATTACK_FRAMES = World.PLAYER_ATTACK_FRAMES;
 
     // IMPORTANT: You may need to change these rows/frames to match your sheet.
     // Enemy
@@ -179,7 +125,7 @@ public class PlatformerGame extends ApplicationAdapter {
     private static final int ENEMY_ATTACK_FRAMES = 6;
 
     private static final int ENEMY_DEATH_ROW = 12;
-    private static final int ENEMY_DEATH_FRAMES = 5;
+    private static final int ENEMY_DEATH_FRAMES = World.ENEMY_DEATH_FRAMES;
 
     // Player death (optional)
     private static final int PLAYER_DEATH_ROW = 9;
@@ -188,11 +134,6 @@ public class PlatformerGame extends ApplicationAdapter {
     private float drawWidth;
     private float drawHeight;
 
-    // Double jump
-    private int maxJumps = 2;
-    private int jumpsUsed = 0;
-    private boolean isOnGround = false;
-
     // ---------------- PLAINS TILE REGIONS ----------------
     private TextureRegion[][] plainsGrid;
 
@@ -200,11 +141,16 @@ public class PlatformerGame extends ApplicationAdapter {
     private TextureRegion redDoorRegion;
     private TextureRegion aquaDoorRegion;
 
-    // ---------------- ENEMIES ----------------
-    private List<Enemy> enemies = new ArrayList<Enemy>();
-
     private Controller controller;
 
+    public PlatformerGame() {
+        this(GameConfig.SIM_THREADED);
+    }
+
+    public PlatformerGame(boolean threadedSimulation) {
+        this.threadedSimulation = threadedSimulation;
+    }
+
     @Override
     public void create() {
 
@@ -216,26 +162,25 @@ public class PlatformerGame extends ApplicationAdapter {
 
         batch = new SpriteBatch();
 
-        playerSheetTexture = new Texture("player.png");
-        skeletonSheetTexture = new Texture("skeleton.png");
+        art = new GameArt();
 
-        plainsSheetTexture = new Texture("plains.png");
-        grassTexture = new Texture("top-grass.png");
-        dirtTexture = new Texture("dirt.png");
-        rightTopGrassTexture = new Texture("right-top-grass.png");
-        leftTopGrassTexture = new Texture("left-top-grass.png");
-        leftDirtTexture = new Texture("left-dirt.png");
-        rightDirtTexture = new Texture("right-dirt.png");
-        bottomDirtTexture = new Texture("bottom-dirt.png");
-        rightBottomDirtTexture = new Texture("right-bottom-dirt.png");
-        leftBottomDirtTexture = new Texture("left-bottom-dirt.png");
-        roundedGrassTexture = new Texture("grass-rounded-up.png");
-        roundedGrassFlipTexture = new Texture("grass-rounded-up-flip.png");
+        tileRegions[Tiles.GRASS] = art.get("top-grass");
+        tileRegions[Tiles.DIRT] = art.get("dirt");
+        tileRegions[Tiles.RIGHT_TOP_GRASS] = art.get("right-top-grass");
+        tileRegions[Tiles.LEFT_TOP_GRASS] = art.get("left-top-grass");
+        tileRegions[Tiles.LEFT_DIRT] = art.get("left-dirt");
+        tileRegions[Tiles.RIGHT_DIRT] = art.get("right-dirt");
+        tileRegions[Tiles.BOTTOM_DIRT] = art.get("bottom-dirt");
+        tileRegions[Tiles.RIGHT_BOTTOM_DIRT] = art.get("right-bottom-dirt");
+        tileRegions[Tiles.LEFT_BOTTOM_DIRT] = art.get("left-bottom-dirt");
+        tileRegions[Tiles.ROUNDED_GRASS] = art.get("grass-rounded-up");
+        tileRegions[Tiles.ROUNDED_GRASS_FLIP] = art.get("grass-rounded-up-flip");
 
-        TextureRegion[][] playerGrid = TextureRegion.split(playerSheetTexture, FRAME_WIDTH, FRAME_HEIGHT);
-        TextureRegion[][] skeletonGrid = TextureRegion.split(skeletonSheetTexture, FRAME_WIDTH, FRAME_HEIGHT);
+        // split() on a region works the same whether it's a whole file or an atlas region
+        TextureRegion[][] playerGrid = art.get("player").split(FRAME_WIDTH, FRAME_HEIGHT);
+        TextureRegion[][] skeletonGrid = art.get("skeleton").split(FRAME_WIDTH, FRAME_HEIGHT);
 
-        plainsGrid = TextureRegion.split(plainsSheetTexture, FRAME_WIDTH, FRAME_HEIGHT);
+        plainsGrid = art.get("plains").split(FRAME_WIDTH, FRAME_HEIGHT);
 
         // ---------------- PLAYER WALK ----------------
         TextureRegion[] walkRightFrames = new TextureRegion[WALK_FRAMES];
@@ -250,9 +195,9 @@ public class PlatformerGame extends ApplicationAdapter {
             walkLeftFrames[i] = copy;
         }
 
-        float walkFrameDurationSeconds = 0.10f;
-        walkRightAnimation = new Animation<TextureRegion>(walkFrameDurationSeconds, walkRightFrames);
-        walkLeftAnimation = new Animation<TextureRegion>(walkFrameDurationSeconds, walkLeftFrames);
+        float walkFrameDurationSeconds = World.WALK_FRAME_SECONDS;
+        Animation<TextureRegion> walkRightAnimation = new Animation<TextureRegion>(walkFrameDurationSeconds, walkRightFrames);
+        Animation<TextureRegion> walkLeftAnimation = new Animation<TextureRegion>(walkFrameDurationSeconds, walkLeftFrames);
         walkRightAnimation.setPlayMode(Animation.PlayMode.LOOP);
         walkLeftAnimation.setPlayMode(Animation.PlayMode.LOOP);
 
@@ -269,17 +214,16 @@ public class PlatformerGame extends ApplicationAdapter {
             attackLeftFrames[i] = copy;
         }
 
-        float attackFrameDurationSeconds = 0.08f;
-        attackRightAnimation = new Animation<TextureRegion>(attackFrameDurationSeconds, attackRightFrames);
-        attackLeftAnimation = new Animation<TextureRegion>(attackFrameDurationSeconds, attackLeftFrames);
+        float attackFrameDurationSeconds = World.ATTACK_FRAME_SECONDS;
+        Animation<TextureRegion> attackRightAnimation = new Animation<TextureRegion>(attackFrameDurationSeconds, attackRightFrames);
+        Animation<TextureRegion> attackLeftAnimation = new Animation<TextureRegion>(attackFrameDurationSeconds, attackLeftFrames);
         attackRightAnimation.setPlayMode(Animation.PlayMode.NORMAL);
         attackLeftAnimation.setPlayMode(Animation.PlayMode.NORMAL);
 
-        // Total time of the attack animation (so we know when to stop attacking)
-        attackDurationSeconds = ATTACK_FRAMES * attackFrameDurationSeconds;
-
         // ---------------- PLAYER DEATH (OPTIONAL) ----------------
         // If your player sheet doesn't have death row, you can set PLAYER_DEATH_FRAMES to 0 and this will never be used.
+        Animation<TextureRegion> deathRightAnimation = null;
+        Animation<TextureRegion> deathLeftAnimation = null;
         if (PLAYER_DEATH_FRAMES > 0) {
             int playerDeathFrames = Math.min(PLAYER_DEATH_FRAMES, playerGrid[PLAYER_DEATH_ROW].length);
 
@@ -295,7 +239,7 @@ public class PlatformerGame extends ApplicationAdapter {
                 deathLeftFrames[i] = copy;
             }
 
-            float deathFrameDurationSeconds = 0.10f;
+            float deathFrameDurationSeconds = World.DEATH_FRAME_SECONDS;
             deathRightAnimation = new Animation<TextureRegion>(deathFrameDurationSeconds, deathRightFrames);
             deathLeftAnimation = new Animation<TextureRegion>(deathFrameDurationSeconds, deathLeftFrames);
             deathRightAnimation.setPlayMode(Animation.PlayMode.NORMAL);
@@ -315,8 +259,8 @@ public class PlatformerGame extends ApplicationAdapter {
             enemyWalkLeftFrames[i] = copy;
         }
 
-        enemyWalkRightAnimation = new Animation<TextureRegion>(walkFrameDurationSeconds, enemyWalkRightFrames);
-        enemyWalkLeftAnimation = new Animation<TextureRegion>(walkFrameDurationSeconds, enemyWalkLeftFrames);
+        Animation<TextureRegion> enemyWalkRightAnimation = new Animation<TextureRegion>(walkFrameDurationSeconds, enemyWalkRightFrames);
+        Animation<TextureRegion> enemyWalkLeftAnimation = new Animation<TextureRegion>(walkFrameDurationSeconds, enemyWalkLeftFrames);
         enemyWalkRightAnimation.setPlayMode(Animation.PlayMode.LOOP);
         enemyWalkLeftAnimation.setPlayMode(Animation.PlayMode.LOOP);
 
@@ -333,8 +277,8 @@ public class PlatformerGame extends ApplicationAdapter {
             enemyAttackLeftFrames[i] = copy;
         }
 
-        enemyAttackRightAnimation = new Animation<TextureRegion>(attackFrameDurationSeconds, enemyAttackRightFrames);
-        enemyAttackLeftAnimation = new Animation<TextureRegion>(attackFrameDurationSeconds, enemyAttackLeftFrames);
+        Animation<TextureRegion> enemyAttackRightAnimation = new Animation<TextureRegion>(attackFrameDurationSeconds, enemyAttackRightFrames);
+        Animation<TextureRegion> enemyAttackLeftAnimation = new Animation<TextureRegion>(attackFrameDurationSeconds, enemyAttackLeftFrames);
         enemyAttackRightAnimation.setPlayMode(Animation.PlayMode.NORMAL);
         enemyAttackLeftAnimation.setPlayMode(Animation.PlayMode.NORMAL);
 
@@ -353,31 +297,39 @@ public class PlatformerGame extends ApplicationAdapter {
             enemyDeathLeftFrames[i] = copy;
         }
 
-        float enemyDeathFrameDurationSeconds = 0.10f;
-        enemyDeathRightAnimation = new Animation<TextureRegion>(enemyDeathFrameDurationSeconds, enemyDeathRightFrames);
-        enemyDeathLeftAnimation = new Animation<TextureRegion>(enemyDeathFrameDurationSeconds, enemyDeathLeftFrames);
+        float enemyDeathFrameDurationSeconds = World.DEATH_FRAME_SECONDS;
+        Animation<TextureRegion> enemyDeathRightAnimation = new Animation<TextureRegion>(enemyDeathFrameDurationSeconds, enemyDeathRightFrames);
+        Animation<TextureRegion> enemyDeathLeftAnimation = new Animation<TextureRegion>(enemyDeathFrameDurationSeconds, enemyDeathLeftFrames);
         enemyDeathRightAnimation.setPlayMode(Animation.PlayMode.NORMAL);
         enemyDeathLeftAnimation.setPlayMode(Animation.PlayMode.NORMAL);
 
+        playerAnimations = new CharacterAnimations(walkRightAnimation, walkLeftAnimation,
+            attackRightAnimation, attackLeftAnimation, deathRightAnimation, deathLeftAnimation);
+        enemyAnimations = new CharacterAnimations(enemyWalkRightAnimation, enemyWalkLeftAnimation,
+            enemyAttackRightAnimation, enemyAttackLeftAnimation, enemyDeathRightAnimation, enemyDeathLeftAnimation);
+
         // Plains regions (optional)
         groundRegion = plainsGrid[2][0];
         redDoorRegion = plainsGrid[2][1];
         aquaDoorRegion = plainsGrid[1][1];
 
         // Player draw settings
-        playerWidth = 16f;
-        playerHeight = 20f;
         drawWidth = 72f;
         drawHeight = 72f;
 
         shapeRenderer = new ShapeRenderer();
+        overlayFont = new BitmapFont();
 
         // Start with level 1
-        currentLevelNumber = 1;
-        currentLevel = createLevel1();
-        applyCurrentLevelSettings();
-
+        world = new World(1);
 
+        if (threadedSimulation) {
+            simulation = new SimulationThread(world);
+            simulation.start();
+        } else {
+            world.setProfiler(profiler);
+            frameSnapshot.bind(world, 0);
+        }
 
         camera = new OrthographicCamera(GameConfig.VIEWPORT_WIDTH, GameConfig.VIEWPORT_HEIGHT);
         camera.position.set(GameConfig.VIEWPORT_WIDTH / 2f, GameConfig.VIEWPORT_HEIGHT / 2f, 0f);
@@ -386,23 +338,51 @@ public class PlatformerGame extends ApplicationAdapter {
 
     @Override
     public void render() {
-        isOnGround = false;
-
+        long frameStartNanos = profiler.start();
         float deltaTime = Gdx.graphics.getDeltaTime();
 
-        // Animation time
-        playerAnimTimeSeconds = playerAnimTimeSeconds + deltaTime;
+        // Camera zoom keys still allowed
+        if (Gdx.input.isKeyPressed(Input.Keys.Z)) {
+            camera.zoom += 0.02f;
+        }
+        if (Gdx.input.isKeyPressed(Input.Keys.X)) {
+            camera.zoom -= 0.02f;
+        }
+        if (Gdx.input.isKeyJustPressed(PROFILER_OVERLAY_KEY)) {
+            showProfiler = !showProfiler;
+        }
+
+        pollInput(inputState);
+
+        long lapNanos;
+        if (simulation != null) {
+            lapNanos = profiler.start();
+            simulation.setInput(inputState);
+            snapshot = simulation.acquire();
+            renderAlpha = simulation.getAlpha(snapshot);
+        } else {
+            // The ticks lap their own phases (World.step)
+            int steps = timestep.advance(deltaTime);
 
-        updatePlayer(deltaTime);
-        updateEnemies(deltaTime);
+            inputState.jump = inputState.jump || heldOverJump;
+            inputState.attack = inputState.attack || heldOverAttack;
+            heldOverJump = steps == 0 && inputState.jump;
+            heldOverAttack = steps == 0 && inputState.attack;
 
-        updatePlayerHurtbox();
-        updatePlayerSwordHitbox();
-        updateEnemyHitboxes();
+            int step = 0;
+            while (step < steps) {
+                world.step(timestep.getStepSeconds(), inputState);
+                step = step + 1;
+            }
 
-        handlePlayerSwordHits();
-        handleEnemySwordHitsPlayer();
-        handleEnemyBodyHitsPlayer();
+            // Rebound every frame: a door transition swaps the level
+            lapNanos = profiler.start();
+            simulatedTicks = simulatedTicks + steps;
+            frameSnapshot.bind(world, simulatedTicks);
+            snapshot = frameSnapshot;
+            renderAlpha = timestep.getAlpha();
+        }
+        profiler.lap(FrameProfiler.SNAPSHOT, lapNanos);
 
         updateCamera();
 
@@ -416,1465 +396,348 @@ public class PlatformerGame extends ApplicationAdapter {
 
         camera.zoom = MathUtils.clamp(camera.zoom, 0.5f, 3.0f);
         camera.update();
+        updateVisibleBounds();
+
+        lapNanos = profiler.start();
+        drawTileChunks();
+        lapNanos = profiler.lap(FrameProfiler.TILES, lapNanos);
 
         batch.setProjectionMatrix(camera.combined);
         batch.begin();
-        drawTilesWithTextures();
         drawPlayerWithBatch();
         drawEnemiesWithBatch();
         batch.end();
+        lapNanos = profiler.lap(FrameProfiler.SPRITES, lapNanos);
 
         shapeRenderer.setProjectionMatrix(camera.combined);
         shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
         drawDoorShapes();
         shapeRenderer.end();
+        lapNanos = profiler.lap(FrameProfiler.DOOR_SHAPES, lapNanos);
 
         shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
         drawHitboxesDebug();
         shapeRenderer.end();
+        lapNanos = profiler.lap(FrameProfiler.HITBOX_SHAPES, lapNanos);
 
-        removeEnemiesThatFinishedDeath();
-    }
-
-    private void drawPlayerWithBatch() {
-        TextureRegion currentFrame = getCurrentPlayerFrame();
-
-        float drawX = playerX - (drawWidth - playerWidth) / 2f;
-        float drawY = playerY - (drawHeight - playerHeight) + spriteFootOffset;
+        if (showProfiler) {
+            drawProfilerOverlay();
+        }
+        profiler.lap(FrameProfiler.OVERLAY, lapNanos);
 
-        batch.draw(currentFrame, drawX, drawY, drawWidth, drawHeight);
+        profiler.lap(FrameProfiler.FRAME, frameStartNanos);
+        profiler.endFrame();
     }
 
-    private void drawEnemiesWithBatch() {
-        int i = 0;
-        while (i < enemies.size()) {
-            Enemy e = enemies.get(i);
+    private void pollInput(InputState input) {
+        float axisX = 0f;
+        if (controller != null) {
+            axisX = controller.getAxis(AXIS_LEFT_X);
+        }
+
+        float deadzone = 0.20f;
+        if (Math.abs(axisX) < deadzone) {
+            axisX = 0f;
+        }
 
-            TextureRegion currentFrame = getCurrentEnemyFrame(e);
+        input.left = axisX < 0f
+            || Gdx.input.isKeyPressed(Input.Keys.A)
+            || Gdx.input.isKeyPressed(Input.Keys.LEFT);
 
-            float drawX = e.x - (drawWidth - e.width) / 2f;
-            float drawY = e.y - (drawHeight - e.height) + spriteFootOffset;
+        input.right = axisX > 0f
+            || Gdx.input.isKeyPressed(Input.Keys.D)
+            || Gdx.input.isKeyPressed(Input.Keys.RIGHT);
 
-            batch.draw(currentFrame, drawX, drawY, drawWidth, drawHeight);
+        // Input merge
+        boolean jumpDown = false;
+        boolean attackDown = false;
 
-            i = i + 1;
+        if (controller != null) {
+            jumpDown = controller.getButton(BUTTON_A);
+            attackDown = controller.getButton(BUTTON_X);
         }
+
+        input.jump = jumpDown || Gdx.input.isKeyPressed(Input.Keys.SPACE);
+        input.attack = attackDown || Gdx.input.isButtonPressed(Input.Buttons.LEFT);
     }
 
-    private TextureRegion getCurrentEnemyFrame(Enemy e) {
-        // Death locks everything
-        if (e.isDead) {
-            if (!e.deathStarted) {
-                e.deathStarted = true;
-                e.animTimeSeconds = 0f;
-            }
+    private void drawPlayerWithBatch() {
+        Player player = snapshot.player;
+        TextureRegion currentFrame = playerAnimations.getFrame(player);
 
-            if (e.facingRight) {
-                if (enemyDeathRightAnimation.isAnimationFinished(e.animTimeSeconds)) {
-                    e.readyToRemove = true;
-                }
-                return enemyDeathRightAnimation.getKeyFrame(e.animTimeSeconds, false);
-            } else {
-                if (enemyDeathLeftAnimation.isAnimationFinished(e.animTimeSeconds)) {
-                    e.readyToRemove = true;
-                }
-                return enemyDeathLeftAnimation.getKeyFrame(e.animTimeSeconds, false);
-            }
-        }
+        float drawX = player.interpolatedX(renderAlpha) - (drawWidth - player.width) / 2f;
+        float drawY = player.interpolatedY(renderAlpha) - (drawHeight - player.height) + spriteFootOffset;
 
-        // Attack
-        if (e.isAttacking) {
-            if (e.facingRight) {
-                return enemyAttackRightAnimation.getKeyFrame(e.attackTimeSeconds, false);
-            } else {
-                return enemyAttackLeftAnimation.getKeyFrame(e.attackTimeSeconds, false);
-            }
-        }
+        batch.draw(currentFrame, drawX, drawY, drawWidth, drawHeight);
+    }
 
-        // "Hit" state (stun) - if you don't have a hit animation, just show idle frame
-        if (e.stunSeconds > 0f) {
-            if (e.facingRight) {
-                return enemyWalkRightAnimation.getKeyFrames()[0];
-            } else {
-                return enemyWalkLeftAnimation.getKeyFrames()[0];
-            }
-        }
+    private void drawEnemiesWithBatch() {
+        EnemyStore enemies = snapshot.enemies;
 
-        // Walk / idle
-        if (e.isMoving) {
-            if (e.facingRight) {
-                return enemyWalkRightAnimation.getKeyFrame(e.animTimeSeconds, true);
-            } else {
-                return enemyWalkLeftAnimation.getKeyFrame(e.animTimeSeconds, true);
+        int i = 0;
+        while (i < enemies.size) {
+            float drawX = enemies.interpolatedX(i, renderAlpha) - (drawWidth - enemies.width[i]) / 2f;
+            float drawY = enemies.interpolatedY(i, renderAlpha) - (drawHeight - enemies.height[i]) + spriteFootOffset;
+
+            // Test the sprite rect, not the hurtbox: the frame is much bigger than the body
+            if (isVisible(drawX, drawY, drawWidth, drawHeight)) {
+                batch.draw(enemyAnimations.getFrame(enemies, i), drawX, drawY, drawWidth, drawHeight);
             }
-        }
 
-        if (e.facingRight) {
-            return enemyWalkRightAnimation.getKeyFrames()[0];
-        } else {
-            return enemyWalkLeftAnimation.getKeyFrames()[0];
+            i = i + 1;
         }
     }
 
-    private TextureRegion getCurrentPlayerFrame() {
-        boolean dead = playerHp <= 0;
+    // ----------------------- CAMERA -----------------------
+    private void updateCamera() {
+        Player player = snapshot.player;
 
-        // Death locks
-        if (dead && deathRightAnimation != null && deathLeftAnimation != null) {
-            if (!playerDeathStarted) {
-                playerDeathStarted = true;
-                playerAnimTimeSeconds = 0f;
-            }
+        float camX = player.interpolatedX(renderAlpha) + player.width / 2f;
+        float camY = player.interpolatedY(renderAlpha) + player.height / 2f;
 
-            if (facingRight) {
-                return deathRightAnimation.getKeyFrame(playerAnimTimeSeconds, false);
-            } else {
-                return deathLeftAnimation.getKeyFrame(playerAnimTimeSeconds, false);
-            }
-        }
+        float halfW = camera.viewportWidth * camera.zoom / 2f;
+        float halfH = camera.viewportHeight * camera.zoom / 2f;
 
-        // Attack has priority
-        if (isAttacking) {
-            if (facingRight) {
-                return attackRightAnimation.getKeyFrame(attackTimeSeconds, false);
-            } else {
-                return attackLeftAnimation.getKeyFrame(attackTimeSeconds, false);
-            }
-        }
+        int worldWidthPixels = snapshot.worldWidthPixels;
+        int worldHeightPixels = snapshot.worldHeightPixels;
 
-        // Hit state (stun) - if you don't have a hit animation, show idle
-        if (playerStunSeconds > 0f) {
-            if (facingRight) {
-                return walkRightAnimation.getKeyFrames()[0];
-            } else {
-                return walkLeftAnimation.getKeyFrames()[0];
-            }
+        if (camX < halfW) {
+            camX = halfW;
         }
-
-        // Walk
-        if (isMoving) {
-            if (facingRight) {
-                return walkRightAnimation.getKeyFrame(playerAnimTimeSeconds, true);
-            } else {
-                return walkLeftAnimation.getKeyFrame(playerAnimTimeSeconds, true);
-            }
+        if (camX > worldWidthPixels - halfW) {
+            camX = worldWidthPixels - halfW;
         }
 
-        // Idle
-        if (facingRight) {
-            return walkRightAnimation.getKeyFrames()[0];
-        } else {
-            return walkLeftAnimation.getKeyFrames()[0];
+        if (camY < halfH) {
+            camY = halfH;
+        }
+        if (camY > worldHeightPixels - halfH) {
+            camY = worldHeightPixels - halfH;
         }
-    }
 
-    // ----------------------- LEVEL BUILDING -----------------------
-    private Level createLevel1() {
-        return new Level(Levels.LEVEL_1, GameConfig.TILE_SIZE, 5, 2);
+        camera.position.set(camX, camY, 0f);
     }
 
-    private Level createLevel2() {
-        return new Level(Levels.LEVEL_2, GameConfig.TILE_SIZE, 55, 2);
-    }
+    /**
+     * Works out the visible world rectangle from the camera (zoom included) so the draws
+     * below only submit what's on screen. Cost follows the screen size, not the level size.
+     */
+    private void updateVisibleBounds() {
+        float halfW = camera.viewportWidth * camera.zoom / 2f;
+        float halfH = camera.viewportHeight * camera.zoom / 2f;
 
-    private Level createLevel3() {
-        return new Level(Levels.LEVEL_3, GameConfig.TILE_SIZE, 5, 2);
-    }
+        viewLeft = camera.position.x - halfW;
+        viewRight = camera.position.x + halfW;
+        viewBottom = camera.position.y - halfH;
+        viewTop = camera.position.y + halfH;
 
-    private Level createLevel4() {
-        return new Level(Levels.LEVEL_4, GameConfig.TILE_SIZE, 5, 2);
-    }
+        // The world ranks enemies by distance to this (takes effect next tick)
+        if (simulation != null) {
+            simulation.setView(viewLeft, viewBottom, viewRight, viewTop);
+        } else {
+            world.setView(viewLeft, viewBottom, viewRight, viewTop);
+        }
 
-    private Level createLevel5() {
-        return new Level(Levels.LEVEL_5, GameConfig.TILE_SIZE, 5, 2);
-    }
+        Level currentLevel = snapshot.level;
+        int tileSize = currentLevel.getTileSize();
 
-    private Level createLevel6() {
-        return new Level(Levels.LEVEL_6, GameConfig.TILE_SIZE, 5, 2);
+        viewMinCol = Math.max(0, MathUtils.floor(viewLeft / tileSize));
+        viewMaxCol = Math.min(currentLevel.getCols() - 1, MathUtils.floor(viewRight / tileSize));
+        viewMinRow = Math.max(0, MathUtils.floor(viewBottom / tileSize));
+        viewMaxRow = Math.min(currentLevel.getRows() - 1, MathUtils.floor(viewTop / tileSize));
     }
 
-    private void applyCurrentLevelSettings() {
-        worldWidthPixels = currentLevel.getCols() * GameConfig.TILE_SIZE;
-        worldHeightPixels = currentLevel.getRows() * GameConfig.TILE_SIZE;
-
-        playerX = currentLevel.getSpawnX();
-        playerY = currentLevel.getSpawnY();
-        velocityY = 0f;
-
-        buildEnemiesFromLevel();
+    private boolean isVisible(float x, float y, float width, float height) {
+        return x + width > viewLeft && x < viewRight && y + height > viewBottom && y < viewTop;
     }
 
-    private void buildEnemiesFromLevel() {
-        enemies.clear();
-
-        int rows = currentLevel.getRows();
-        int cols = currentLevel.getCols();
-        int tileSize = currentLevel.getTileSize();
-
-        int row = 0;
-        while (row < rows) {
-            int col = 0;
-            while (col < cols) {
-                int tile = currentLevel.getTile(row, col);
+    private void drawHitboxesDebug() {
+        Player player = snapshot.player;
+        EnemyStore enemies = snapshot.enemies;
 
-                if (tile == TILE_ENEMY_SPAWN) {
-                    float spawnX = col * tileSize;
-                    float spawnY = row * tileSize;
+        // Player hurtbox (green)
+        shapeRenderer.setColor(0f, 1f, 0f, 1f);
+        shapeRenderer.rect(player.hurtbox.x, player.hurtbox.y, player.hurtbox.width, player.hurtbox.height);
 
-                    float groundTopY = findGroundYBelow(spawnX, spawnY, enemyWidth);
+        // Player sword (yellow)
+        shapeRenderer.setColor(1f, 1f, 0f, 1f);
+        shapeRenderer.rect(player.swordHitbox.x, player.swordHitbox.y, player.swordHitbox.width, player.swordHitbox.height);
 
-                    // place enemy standing on the ground tile
-                    float fixedY = groundTopY;
+        // Enemy hurtboxes (red)
+        shapeRenderer.setColor(1f, 0f, 0f, 1f);
+        int i = 0;
+        while (i < enemies.size) {
+            shapeRenderer.rect(enemies.x[i], enemies.y[i], enemies.width[i], enemies.height[i]);
 
-                    Enemy e = new Enemy(spawnX, fixedY, enemyWidth, enemyHeight);
-                    e.homeGroundY = fixedY;
+            // Enemy sword hitbox (orange-ish)
+            shapeRenderer.setColor(1f, 0.5f, 0f, 1f);
+            shapeRenderer.rect(enemies.swordX[i], enemies.swordY[i], enemies.swordWidth[i], enemies.swordHeight[i]);
 
-                    // Patrol bounds: 6 tiles left/right from spawn (tune this)
-                    float patrolRadiusPixels = 6f * GameConfig.TILE_SIZE;
-                    e.patrolLeftX = Math.max(0f, spawnX - patrolRadiusPixels);
-                    e.patrolRightX = Math.min(worldWidthPixels - e.width, spawnX + patrolRadiusPixels);
+            shapeRenderer.setColor(1f, 0f, 0f, 1f);
+            i = i + 1;
+        }
+    }
 
-                    e.moveDir = 1;
+    private void drawDoorShapes() {
+        Level currentLevel = snapshot.level;
+        List<DoorTrigger> triggers = currentLevel.getTriggers();
 
-                    enemies.add(e);
-                }
+        // Only the doors whose cells are on screen; one rect per door, not one per tile
+        currentLevel.queryTriggers(viewLeft, viewBottom, viewRight - viewLeft, viewTop - viewBottom, visibleDoors);
 
+        int n = 0;
+        while (n < visibleDoors.size) {
+            DoorTrigger door = triggers.get(visibleDoors.items[n]);
 
-                col = col + 1;
+            if (door.type == DoorTrigger.TYPE_RED) {
+                shapeRenderer.setColor(1f, 0f, 0f, 1f);
+            } else {
+                shapeRenderer.setColor(0f, 0.6f, 0.6f, 1f);
             }
-            row = row + 1;
+            shapeRenderer.rect(door.x, door.y, door.width, door.height);
+
+            n = n + 1;
         }
     }
 
-    private boolean isPlayerOnSamePlatformAsEnemy(Enemy e) {
-        // If player is in the air, don't let enemies "platform-hop" chase
-        if (!isOnGround) {
-            return false;
-        }
+    private void drawTileChunks() {
+        Level currentLevel = snapshot.level;
 
-        // If enemy somehow isn't grounded, also don't chase
-        if (!e.isOnGround) {
-            return false;
+        if (currentLevel.isStreamed()) {
+            // Baking would page the whole map in; just draw what's on screen through the batch
+            drawVisibleTilesWithBatch(currentLevel);
+            return;
         }
 
-        float tolerance = GameConfig.TILE_SIZE * 1.5f; // tune if needed
-        float dy = Math.abs(playerY - e.homeGroundY);
+        // Tiles are baked once per level, not re-sent every frame
+        if (!tileChunks.isBuiltFor(currentLevel)) {
+            tileChunks.build(currentLevel, tileRegions);
+        }
 
-        return dy <= tolerance;
+        tileChunks.render(camera.combined, viewMinCol, viewMaxCol, viewMinRow, viewMaxRow);
     }
 
+    private void drawVisibleTilesWithBatch(Level currentLevel) {
+        int tileSize = currentLevel.getTileSize();
 
-    // ----------------------- UPDATE LOGIC -----------------------
-    private void updateEnemies(float deltaTime) {
-        int i = 0;
-        while (i < enemies.size()) {
-            Enemy e = enemies.get(i);
-
-            // Always advance animation time (even while dead, for death playback)
-            e.animTimeSeconds = e.animTimeSeconds + deltaTime;
-
-            // If dead: do nothing else (death animation plays via animTimeSeconds)
-            if (e.isDead) {
-                i = i + 1;
-                continue;
-            }
-
-            // ---------------- ENEMY GRAVITY ----------------
-            e.velocityY = e.velocityY + ENEMY_GRAVITY * deltaTime;
-
-            if (e.velocityY < ENEMY_TERMINAL_VEL) {
-                e.velocityY = ENEMY_TERMINAL_VEL;
-            }
-
-            float deltaY = e.velocityY * deltaTime;
-            if (deltaY != 0f) {
-                moveEnemyVertical(e, deltaY);
-            }
-
-// Prevent falling below bottom of world
-            if (e.y < 0f) {
-                e.y = 0f;
-                e.velocityY = 0f;
-                e.isOnGround = true;
-            }
-
-
-            // Stun timer
-            if (e.stunSeconds > 0f) {
-                e.stunSeconds = e.stunSeconds - deltaTime;
-                if (e.stunSeconds < 0f) {
-                    e.stunSeconds = 0f;
-                }
-            }
-
-            // Knockback
-            if (e.knockbackVelX != 0f) {
-                float dx = e.knockbackVelX * deltaTime;
-                e.x = e.x + dx;
-
-                if (e.x < 0f) {
-                    e.x = 0f;
-                    e.knockbackVelX = 0f;
-                }
-                if (e.x + e.width > worldWidthPixels) {
-                    e.x = worldWidthPixels - e.width;
-                    e.knockbackVelX = 0f;
-                }
-
-                if (e.knockbackVelX > 0f) {
-                    e.knockbackVelX = e.knockbackVelX - ENEMY_KNOCKBACK_FRICTION * deltaTime;
-                    if (e.knockbackVelX < 0f) {
-                        e.knockbackVelX = 0f;
-                    }
-                } else {
-                    e.knockbackVelX = e.knockbackVelX + ENEMY_KNOCKBACK_FRICTION * deltaTime;
-                    if (e.knockbackVelX > 0f) {
-                        e.knockbackVelX = 0f;
-                    }
-                }
-            }
+        batch.setProjectionMatrix(camera.combined);
+        batch.begin();
 
-            boolean enemyStunned = e.stunSeconds > 0f;
+        int row = viewMinRow;
+        while (row <= viewMaxRow) {
+            int col = viewMinCol;
+            while (col <= viewMaxCol) {
+                // From the snapshot's copy: the level's chunks belong to the simulation
+                TextureRegion region = tileRegions[snapshot.getTile(row, col)];
 
-            // Cooldown tick
-            if (e.attackCooldownSeconds > 0f) {
-                e.attackCooldownSeconds = e.attackCooldownSeconds - deltaTime;
-                if (e.attackCooldownSeconds < 0f) {
-                    e.attackCooldownSeconds = 0f;
+                if (region != null) {
+                    batch.draw(region, col * tileSize, row * tileSize, tileSize, tileSize);
                 }
-            }
 
-            // Attack tick
-            if (e.isAttacking) {
-                e.attackTimeSeconds = e.attackTimeSeconds + deltaTime;
-
-                if (e.attackTimeSeconds >= e.attackDurationSeconds) {
-                    e.isAttacking = false;
-                    e.attackTimeSeconds = 0f;
-                    e.attackCooldownSeconds = e.attackCooldownDurationSeconds;
-                }
+                col = col + 1;
             }
+            row = row + 1;
+        }
 
-            // Start attack if close, not stunned
-            if (!enemyStunned && !e.isAttacking && e.attackCooldownSeconds == 0f) {
-                float enemyCenterX = e.x + e.width / 2f;
-                float playerCenterX = playerX + playerWidth / 2f;
-
-                float absDistanceX = Math.abs(enemyCenterX - playerCenterX);
-                float attackRange = 40f;
-
-                if (absDistanceX <= attackRange) {
-                    e.isAttacking = true;
-                    e.attackTimeSeconds = 0f;
-                    e.facingRight = playerCenterX > enemyCenterX;
-                }
-            }
-            updateEnemyMovementAI(e, deltaTime);
+        batch.end();
+    }
 
+    // ----------------------- PROFILER -----------------------
 
-            i = i + 1;
+    /**
+     * Phase times over the last PROFILER_WINDOW_FRAMES frames, top left, in screen pixels. The text
+     * is only rebuilt every PROFILER_OVERLAY_REFRESH_FRAMES frames (and sorting the window is the
+     * expensive part), so the overlay barely shows up in its own numbers.
+     */
+    private void drawProfilerOverlay() {
+        overlayRefreshFrames = overlayRefreshFrames - 1;
+        if (overlayRefreshFrames <= 0) {
+            profiler.refreshWindowStats();
+            overlayText = buildOverlayText();
+            overlayRefreshFrames = GameConfig.PROFILER_OVERLAY_REFRESH_FRAMES;
         }
-    }
-
-    private void removeEnemiesThatFinishedDeath() {
-        int i = 0;
-        while (i < enemies.size()) {
-            Enemy e = enemies.get(i);
 
-            if (e.isDead && e.readyToRemove) {
-                enemies.remove(i);
-                continue;
-            }
+        int width = Gdx.graphics.getWidth();
+        int height = Gdx.graphics.getHeight();
+        overlayMatrix.setToOrtho2D(0f, 0f, width, height);
 
-            i = i + 1;
-        }
+        batch.setProjectionMatrix(overlayMatrix);
+        batch.begin();
+        overlayFont.draw(batch, overlayText, 8f, height - 8f);
+        batch.end();
     }
 
-    private void updatePlayer(float deltaTime) {
-        float deltaX = 0f;
-        isMoving = false;
+    private String buildOverlayText() {
+        StringBuilder text = new StringBuilder();
+        text.append("ms (last ").append(GameConfig.PROFILER_WINDOW_FRAMES).append(" frames)  p50 / p99 / max\n");
+        profiler.appendWindowStats(text);
 
-        float axisX = 0f;
-        if (controller != null) {
-            axisX = controller.getAxis(AXIS_LEFT_X);
+        if (simulation != null) {
+            text.append("\nsimulation thread, ms (last ").append(GameConfig.PROFILER_WINDOW_FRAMES).append(" ticks)\n");
+            text.append(simulation.getProfileText());
         }
 
-        float deadzone = 0.20f;
-        if (Math.abs(axisX) < deadzone) {
-            axisX = 0f;
-        }
+        return text.toString();
+    }
 
-        // cooldown timers
-        if (playerHurtCooldownSeconds > 0f) {
-            playerHurtCooldownSeconds = playerHurtCooldownSeconds - deltaTime;
-            if (playerHurtCooldownSeconds < 0f) {
-                playerHurtCooldownSeconds = 0f;
-            }
+    /**
+     * Writes the session summary (see FrameProfiler.appendCsvRows) with a few comment lines about the
+     * machine, so a report from a player's setup says which phase was slow and on what. With the
+     * threaded simulation its rows follow the render thread's; their "frames" are ticks. Call after
+     * the simulation thread has stopped.
+     */
+    private void writeProfile() {
+        if (profiler.getFrames() == 0) {
+            return;
         }
 
-        if (playerGlobalHurtLockSeconds > 0f) {
-            playerGlobalHurtLockSeconds = playerGlobalHurtLockSeconds - deltaTime;
-            if (playerGlobalHurtLockSeconds < 0f) {
-                playerGlobalHurtLockSeconds = 0f;
-            }
-        }
+        Runtime runtime = Runtime.getRuntime();
+        String header = "# os=" + System.getProperty("os.name") + " " + System.getProperty("os.arch")
+            + ", java=" + System.getProperty("java.version")
+            + ", cores=" + runtime.availableProcessors()
+            + ", maxHeapMb=" + runtime.maxMemory() / (1024 * 1024) + "\n"
+            + "# threadedSimulation=" + threadedSimulation
+            + ", level=" + (snapshot != null ? snapshot.levelNumber : 0)
+            + ", enemies=" + (snapshot != null ? snapshot.enemies.size : 0) + "\n";
 
-        if (playerBodyHurtCooldownSeconds > 0f) {
-            playerBodyHurtCooldownSeconds = playerBodyHurtCooldownSeconds - deltaTime;
-            if (playerBodyHurtCooldownSeconds < 0f) {
-                playerBodyHurtCooldownSeconds = 0f;
-            }
+        StringBuilder csv = new StringBuilder(header).append(FrameProfiler.CSV_HEADER);
+        profiler.appendCsvRows(csv);
+        if (simulation != null) {
+            simulation.getProfiler().appendCsvRows(csv);
         }
 
-        if (playerSwordHurtCooldownSeconds > 0f) {
-            playerSwordHurtCooldownSeconds = playerSwordHurtCooldownSeconds - deltaTime;
-            if (playerSwordHurtCooldownSeconds < 0f) {
-                playerSwordHurtCooldownSeconds = 0f;
-            }
+        try {
+            Gdx.files.local(PROFILE_FILE).writeString(csv.toString(), false);
+            Gdx.app.log("PlatformerGame", "Frame profile (" + profiler.getFrames() + " frames) written to " + PROFILE_FILE);
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("PlatformerGame", "Couldn't write " + PROFILE_FILE, e);
         }
+    }
 
-        // stun timer
-        if (playerStunSeconds > 0f) {
-            playerStunSeconds = playerStunSeconds - deltaTime;
-            if (playerStunSeconds < 0f) {
-                playerStunSeconds = 0f;
-            }
+    @Override
+    public void dispose() {
+        if (simulation != null) {
+            simulation.stop();
         }
+        writeProfile();
 
-        // Apply knockback
-        if (playerKnockbackVelX != 0f) {
-            float dx = playerKnockbackVelX * deltaTime;
-            moveHorizontal(dx);
-
-            if (playerKnockbackVelX > 0f) {
-                playerKnockbackVelX = playerKnockbackVelX - PLAYER_KNOCKBACK_FRICTION * deltaTime;
-                if (playerKnockbackVelX < 0f) {
-                    playerKnockbackVelX = 0f;
-                }
-            } else {
-                playerKnockbackVelX = playerKnockbackVelX + PLAYER_KNOCKBACK_FRICTION * deltaTime;
-                if (playerKnockbackVelX > 0f) {
-                    playerKnockbackVelX = 0f;
-                }
-            }
+        tileChunks.dispose();
+        if (world != null) {
+            world.dispose();
         }
 
-        boolean dead = playerHp <= 0;
-        boolean stunned = playerStunSeconds > 0f;
-
-        // Camera zoom keys still allowed
-        if (Gdx.input.isKeyPressed(Input.Keys.Z)) {
-            camera.zoom += 0.02f;
+        if (shapeRenderer != null) {
+            shapeRenderer.dispose();
         }
-        if (Gdx.input.isKeyPressed(Input.Keys.X)) {
-            camera.zoom -= 0.02f;
+        if (overlayFont != null) {
+            overlayFont.dispose();
+        }
+        if (batch != null) {
+            batch.dispose();
         }
 
-        // If dead: no input, but still fall with gravity
-        if (!dead && !stunned) {
-            boolean leftPressed = axisX < 0f
-                || Gdx.input.isKeyPressed(Input.Keys.A)
-                || Gdx.input.isKeyPressed(Input.Keys.LEFT);
-
-            boolean rightPressed = axisX > 0f
-                || Gdx.input.isKeyPressed(Input.Keys.D)
-                || Gdx.input.isKeyPressed(Input.Keys.RIGHT);
-
-            if (leftPressed && !rightPressed) {
-                facingRight = false;
-                isMoving = true;
-                deltaX = deltaX - moveSpeed * deltaTime;
-            }
-
-            if (rightPressed && !leftPressed) {
-                facingRight = true;
-                isMoving = true;
-                deltaX = deltaX + moveSpeed * deltaTime;
-            }
-
-            if (deltaX != 0f) {
-                moveHorizontal(deltaX);
-            }
-
-            // Input merge
-            boolean jumpDown = false;
-            boolean attackDown = false;
-
-            if (controller != null) {
-                jumpDown = controller.getButton(BUTTON_A);
-                attackDown = controller.getButton(BUTTON_X);
-            }
-
-            jumpDown = jumpDown || Gdx.input.isKeyPressed(Input.Keys.SPACE);
-            attackDown = attackDown || Gdx.input.isButtonPressed(Input.Buttons.LEFT);
-
-            boolean jumpPressedThisFrame = jumpDown && !wasJumpDownLastFrame;
-            boolean attackPressedThisFrame = attackDown && !wasAttackDownLastFrame;
-
-            wasJumpDownLastFrame = jumpDown;
-            wasAttackDownLastFrame = attackDown;
-
-            handleJumpInput(jumpPressedThisFrame);
-            handleAttackInput(deltaTime, attackPressedThisFrame);
-        } else {
-            // If dead or stunned, stop starting new attacks
-            wasJumpDownLastFrame = false;
-            wasAttackDownLastFrame = false;
-        }
-
-        // Gravity always applies
-        velocityY = velocityY + GameConfig.GRAVITY * deltaTime;
-
-        float deltaY = velocityY * deltaTime;
-        if (deltaY != 0f) {
-            moveVertical(deltaY);
-        }
-
-        if (playerX < 0f) {
-            playerX = 0f;
-        }
-        if (playerX + playerWidth > worldWidthPixels) {
-            playerX = worldWidthPixels - playerWidth;
-        }
-
-        if (playerY < 0f) {
-            playerY = 0f;
-            velocityY = 0f;
-            isOnGround = true;
-            jumpsUsed = 0;
-        }
-
-        boolean touchingDoorNow = isTouchingRedDoor();
-        boolean touchingAquaDoorNow = isTouchingAquaDoor();
-
-        if (touchingDoorNow && !wasTouchingDoorLastFrame) {
-            if (currentLevelNumber == 1) {
-                currentLevelNumber = 2;
-                currentLevel = createLevel2();
-                applyCurrentLevelSettings();
-            } else if (currentLevelNumber == 2) {
-                currentLevelNumber = 3;
-                currentLevel = createLevel3();
-                applyCurrentLevelSettings();
-            } else if (currentLevelNumber == 3) {
-                currentLevelNumber = 1;
-                currentLevel = createLevel1();
-                applyCurrentLevelSettings();
-            }
-        } else if (touchingAquaDoorNow && !wasTouchingAquaDoorLastFrame) {
-            if (currentLevelNumber == 3) {
-                currentLevelNumber = 4;
-                currentLevel = createLevel4();
-                applyCurrentLevelSettings();
-            } else if (currentLevelNumber == 4) {
-                currentLevelNumber = 5;
-                currentLevel = createLevel5();
-                applyCurrentLevelSettings();
-            } else if (currentLevelNumber == 5) {
-                currentLevelNumber = 6;
-                currentLevel = createLevel6();
-                applyCurrentLevelSettings();
-            } else if (currentLevelNumber == 6) {
-                currentLevelNumber = 1;
-                currentLevel = createLevel1();
-                applyCurrentLevelSettings();
-            }
-        }
-
-        wasTouchingDoorLastFrame = touchingDoorNow;
-        wasTouchingAquaDoorLastFrame = touchingAquaDoorNow;
-    }
-
-    private void handleEnemyBodyHitsPlayer() {
-        if (playerGlobalHurtLockSeconds > 0f) {
-            return;
-        }
-        if (playerBodyHurtCooldownSeconds > 0f) {
-            return;
-        }
-
-        int i = 0;
-        while (i < enemies.size()) {
-            Enemy e = enemies.get(i);
-
-            if (e.isDead) {
-                i = i + 1;
-                continue;
-            }
-
-            if (playerHurtbox.overlaps(e.hurtbox)) {
-                playerHp = playerHp - 1;
-
-                playerStunSeconds = PLAYER_STUN_DURATION;
-
-                float enemyCenterX = e.x + e.width / 2f;
-                float playerCenterX = playerX + playerWidth / 2f;
-
-                if (playerCenterX < enemyCenterX) {
-                    playerKnockbackVelX = -PLAYER_KNOCKBACK_SPEED;
-                } else {
-                    playerKnockbackVelX = PLAYER_KNOCKBACK_SPEED;
-                }
-
-                playerGlobalHurtLockSeconds = PLAYER_GLOBAL_HURT_LOCK;
-                playerBodyHurtCooldownSeconds = PLAYER_BODY_HURT_COOLDOWN;
-
-                return;
-            }
-
-            i = i + 1;
-        }
-    }
-
-    private boolean isTouchingAquaDoor() {
-        float playerLeft = playerX;
-        float playerRight = playerX + playerWidth;
-        float playerBottom = playerY;
-        float playerTop = playerY + playerHeight;
-
-        int rows = currentLevel.getRows();
-        int cols = currentLevel.getCols();
-        int tileSize = currentLevel.getTileSize();
-
-        int row = 0;
-        while (row < rows) {
-            int col = 0;
-            while (col < cols) {
-
-                if (currentLevel.isAquaDoorTile(col, row)) {
-                    float x = col * tileSize;
-                    float y = row * tileSize;
-
-                    float tileLeft = x;
-                    float tileRight = x + tileSize;
-                    float tileBottom = y;
-                    float tileTop = y + tileSize;
-
-                    boolean overlapX = playerRight > tileLeft && playerLeft < tileRight;
-                    boolean overlapY = playerTop > tileBottom && playerBottom < tileTop;
-
-                    if (overlapX && overlapY) {
-                        return true;
-                    }
-                }
-
-                col = col + 1;
-            }
-            row = row + 1;
-        }
-
-        return false;
-    }
-
-    private boolean isTouchingRedDoor() {
-        float playerLeft = playerX;
-        float playerRight = playerX + playerWidth;
-        float playerBottom = playerY;
-        float playerTop = playerY + playerHeight;
-
-        int rows = currentLevel.getRows();
-        int cols = currentLevel.getCols();
-        int tileSize = currentLevel.getTileSize();
-
-        int row = 0;
-        while (row < rows) {
-            int col = 0;
-            while (col < cols) {
-
-                if (currentLevel.isDoorTile(col, row)) {
-                    float x = col * tileSize;
-                    float y = row * tileSize;
-
-                    float tileLeft = x;
-                    float tileRight = x + tileSize;
-                    float tileBottom = y;
-                    float tileTop = y + tileSize;
-
-                    boolean overlapX = playerRight > tileLeft && playerLeft < tileRight;
-                    boolean overlapY = playerTop > tileBottom && playerBottom < tileTop;
-
-                    if (overlapX && overlapY) {
-                        return true;
-                    }
-                }
-
-                col = col + 1;
-            }
-            row = row + 1;
-        }
-
-        return false;
-    }
-
-    private void handleJumpInput(boolean jumpPressedThisFrame) {
-        if (jumpPressedThisFrame) {
-            if (jumpsUsed < maxJumps) {
-                velocityY = jumpVelocity;
-                jumpsUsed = jumpsUsed + 1;
-                isOnGround = false;
-            }
-        }
-    }
-
-    private void handleAttackInput(float deltaTime, boolean attackPressedThisFrame) {
-        if (attackPressedThisFrame && !isAttacking) {
-            isAttacking = true;
-            attackTimeSeconds = 0f;
-
-            int i = 0;
-            while (i < enemies.size()) {
-                enemies.get(i).wasHitThisAttack = false;
-                i = i + 1;
-            }
-        }
-
-        if (isAttacking) {
-            attackTimeSeconds = attackTimeSeconds + deltaTime;
-
-            if (attackTimeSeconds >= attackDurationSeconds) {
-                isAttacking = false;
-                attackTimeSeconds = 0f;
-            }
-        }
-    }
-
-    private void moveHorizontal(float deltaX) {
-        float newX = playerX + deltaX;
-        playerX = newX;
-        resolveHorizontalCollisions(deltaX);
-    }
-
-    private void moveVertical(float deltaY) {
-        float newY = playerY + deltaY;
-        playerY = newY;
-
-        isOnGround = false;
-        resolveVerticalCollisions(deltaY);
-    }
-
-    private void resolveHorizontalCollisions(float deltaX) {
-        float playerLeft = playerX;
-        float playerRight = playerX + playerWidth;
-        float playerBottom = playerY;
-        float playerTop = playerY + playerHeight;
-
-        int minTileX = (int) (playerLeft / GameConfig.TILE_SIZE);
-        int maxTileX = (int) (playerRight / GameConfig.TILE_SIZE);
-        int minTileY = (int) (playerBottom / GameConfig.TILE_SIZE);
-        int maxTileY = (int) (playerTop / GameConfig.TILE_SIZE);
-
-        int tileY = minTileY;
-        while (tileY <= maxTileY) {
-            int tileX = minTileX;
-            while (tileX <= maxTileX) {
-                if (!isSolidTile(tileX, tileY)) {
-                    tileX = tileX + 1;
-                    continue;
-                }
-
-                float tileWorldX = tileX * GameConfig.TILE_SIZE;
-                float tileWorldY = tileY * GameConfig.TILE_SIZE;
-
-                float tileLeft = tileWorldX;
-                float tileRight = tileWorldX + GameConfig.TILE_SIZE;
-                float tileBottom = tileWorldY;
-                float tileTop = tileWorldY + GameConfig.TILE_SIZE;
-
-                boolean overlapX = playerRight > tileLeft && playerLeft < tileRight;
-                boolean overlapY = playerTop > tileBottom && playerBottom < tileTop;
-
-                if (overlapX && overlapY) {
-                    if (deltaX > 0f) {
-                        playerX = tileLeft - playerWidth;
-                    } else if (deltaX < 0f) {
-                        playerX = tileRight;
-                    }
-
-                    playerLeft = playerX;
-                    playerRight = playerX + playerWidth;
-                }
-
-                tileX = tileX + 1;
-            }
-            tileY = tileY + 1;
-        }
-    }
-
-    private void moveEnemyVertical(Enemy e, float deltaY) {
-        e.y = e.y + deltaY;
-        e.isOnGround = false;
-        resolveEnemyVerticalCollisions(e, deltaY);
-    }
-
-    private void resolveEnemyVerticalCollisions(Enemy e, float deltaY) {
-        float left = e.x;
-        float right = e.x + e.width;
-        float bottom = e.y;
-        float top = e.y + e.height;
-
-        int minTileX = (int) (left / GameConfig.TILE_SIZE);
-        int maxTileX = (int) (right / GameConfig.TILE_SIZE);
-        int minTileY = (int) (bottom / GameConfig.TILE_SIZE);
-        int maxTileY = (int) (top / GameConfig.TILE_SIZE);
-
-        int ty = minTileY;
-        while (ty <= maxTileY) {
-            int tx = minTileX;
-            while (tx <= maxTileX) {
-
-                if (!isSolidTileForEnemy(tx, ty)) {
-                    tx = tx + 1;
-                    continue;
-                }
-
-                float tileLeft = tx * GameConfig.TILE_SIZE;
-                float tileRight = tileLeft + GameConfig.TILE_SIZE;
-                float tileBottom = ty * GameConfig.TILE_SIZE;
-                float tileTop = tileBottom + GameConfig.TILE_SIZE;
-
-                boolean overlapX = right > tileLeft && left < tileRight;
-                boolean overlapY = top > tileBottom && bottom < tileTop;
-
-                if (overlapX && overlapY) {
-                    if (deltaY > 0f) {
-                        // moving up -> hit ceiling
-                        e.y = tileBottom - e.height;
-                        e.velocityY = 0f;
-                        return;
-                    }
-
-                    if (deltaY < 0f) {
-                        // moving down -> land on ground
-                        e.y = tileTop;
-                        e.velocityY = 0f;
-                        e.isOnGround = true;
-                        return;
-                    }
-                }
-
-                tx = tx + 1;
-            }
-            ty = ty + 1;
-        }
-    }
-
-
-    private void resolveVerticalCollisions(float deltaY) {
-        float playerLeft = playerX;
-        float playerRight = playerX + playerWidth;
-        float playerBottom = playerY;
-        float playerTop = playerY + playerHeight;
-
-        int minTileX = (int) (playerLeft / GameConfig.TILE_SIZE);
-        int maxTileX = (int) (playerRight / GameConfig.TILE_SIZE);
-        int minTileY = (int) (playerBottom / GameConfig.TILE_SIZE);
-        int maxTileY = (int) (playerTop / GameConfig.TILE_SIZE);
-
-        int tileY = minTileY;
-        while (tileY <= maxTileY) {
-            int tileX = minTileX;
-            while (tileX <= maxTileX) {
-                if (!isSolidTile(tileX, tileY)) {
-                    tileX = tileX + 1;
-                    continue;
-                }
-
-                float tileWorldX = tileX * GameConfig.TILE_SIZE;
-                float tileWorldY = tileY * GameConfig.TILE_SIZE;
-
-                float tileLeft = tileWorldX;
-                float tileRight = tileWorldX + GameConfig.TILE_SIZE;
-                float tileBottom = tileWorldY;
-                float tileTop = tileWorldY + GameConfig.TILE_SIZE;
-
-                boolean overlapX = playerRight > tileLeft && playerLeft < tileRight;
-                boolean overlapY = playerTop > tileBottom && playerBottom < tileTop;
-
-                if (overlapX && overlapY) {
-
-                    if (deltaY > 0f) {
-                        playerY = tileBottom - playerHeight;
-                        velocityY = 0f;
-                        return;
-                    }
-
-                    if (deltaY < 0f) {
-                        playerY = tileTop;
-                        velocityY = 0f;
-                        isOnGround = true;
-                        jumpsUsed = 0;
-                        return;
-                    }
-                }
-
-                tileX = tileX + 1;
-            }
-            tileY = tileY + 1;
-        }
-    }
-
-    private boolean isSolidTile(int tileX, int tileY) {
-        int tileValue = currentLevel.getTile(tileY, tileX);
-        if (tileValue == TILE_ENEMY_SPAWN) {
-            return false;
-        }
-
-        return currentLevel.isSolidTile(tileX, tileY);
-    }
-
-    private boolean isSolidTileForEnemy(int tileX, int tileY) {
-        // Treat outside world as solid so enemies turn around
-        if (tileX < 0 || tileY < 0) {
-            return true;
-        }
-
-        int maxTileX = currentLevel.getCols() - 1;
-        int maxTileY = currentLevel.getRows() - 1;
-
-        if (tileX > maxTileX || tileY > maxTileY) {
-            return true;
-        }
-
-        int tileValue = currentLevel.getTile(tileY, tileX);
-
-        // Enemy spawn marker should not block movement
-        if (tileValue == TILE_ENEMY_SPAWN) {
-            return false;
-        }
-
-        return currentLevel.isSolidTile(tileX, tileY);
-    }
-
-    private float findGroundYBelow(float startX, float startY, float entityWidth) {
-        // Start checking from the tile row at startY and go downward until we hit a solid tile.
-        int startColLeft = (int) (startX / GameConfig.TILE_SIZE);
-        int startColRight = (int) ((startX + entityWidth - 1f) / GameConfig.TILE_SIZE);
-
-        int startRow = (int) (startY / GameConfig.TILE_SIZE) - 1;
-
-        int row = startRow;
-        while (row >= 0) {
-            boolean foundSolid = false;
-
-            int col = startColLeft;
-            while (col <= startColRight) {
-                if (isSolidTileForEnemy(col, row)) {
-                    foundSolid = true;
-                    break;
-                }
-                col = col + 1;
-            }
-
-            if (foundSolid) {
-                // Ground tile top in world coords
-                float tileTopY = (row + 1) * GameConfig.TILE_SIZE;
-                return tileTopY;
-            }
-
-            row = row - 1;
-        }
-
-        // If nothing solid below, just return original
-        return startY;
-    }
-
-
-    private boolean enemyWouldCollideAtX(Enemy e, float newX) {
-        float left = newX;
-        float right = newX + e.width;
-
-        float bottom = e.y;
-        float top = e.y + e.height;
-
-        int minTileX = (int) (left / GameConfig.TILE_SIZE);
-        int maxTileX = (int) (right / GameConfig.TILE_SIZE);
-
-        int minTileY = (int) (bottom / GameConfig.TILE_SIZE);
-        int maxTileY = (int) (top / GameConfig.TILE_SIZE);
-
-        int ty = minTileY;
-        while (ty <= maxTileY) {
-            int tx = minTileX;
-            while (tx <= maxTileX) {
-                if (isSolidTileForEnemy(tx, ty)) {
-                    // basic AABB overlap test with this tile
-                    float tileLeft = tx * GameConfig.TILE_SIZE;
-                    float tileRight = tileLeft + GameConfig.TILE_SIZE;
-
-                    float tileBottom = ty * GameConfig.TILE_SIZE;
-                    float tileTop = tileBottom + GameConfig.TILE_SIZE;
-
-                    boolean overlapX = right > tileLeft && left < tileRight;
-                    boolean overlapY = top > tileBottom && bottom < tileTop;
-
-                    if (overlapX && overlapY) {
-                        return true;
-                    }
-                }
-                tx = tx + 1;
-            }
-            ty = ty + 1;
-        }
-
-        return false;
-    }
-
-    private boolean enemyHasGroundAhead(Enemy e, int dir) {
-        // Look one pixel ahead of the enemy's front foot
-        float frontX;
-        if (dir > 0) {
-            frontX = e.x + e.width + 1f;
-        } else {
-            frontX = e.x - 1f;
-        }
-
-        float footY = e.y - 1f;
-
-        int tileX = (int) (frontX / GameConfig.TILE_SIZE);
-        int tileY = (int) (footY / GameConfig.TILE_SIZE);
-
-        return isSolidTileForEnemy(tileX, tileY);
-    }
-
-    private boolean enemyHasWallAhead(Enemy e, int dir) {
-        float frontX;
-        if (dir > 0) {
-            frontX = e.x + e.width + 1f;
-        } else {
-            frontX = e.x - 1f;
-        }
-
-        int tileX = (int) (frontX / GameConfig.TILE_SIZE);
-
-        // Check along enemy vertical body
-        float bodyBottom = e.y + 1f;
-        float bodyTop = e.y + e.height - 1f;
-
-        int minTileY = (int) (bodyBottom / GameConfig.TILE_SIZE);
-        int maxTileY = (int) (bodyTop / GameConfig.TILE_SIZE);
-
-        int ty = minTileY;
-        while (ty <= maxTileY) {
-            if (isSolidTileForEnemy(tileX, ty)) {
-                return true;
-            }
-            ty = ty + 1;
-        }
-
-        return false;
-    }
-
-    private void updateEnemyMovementAI(Enemy e, float deltaTime) {
-        if (e.isDead) {
-            e.isMoving = false;
-            return;
-        }
-        if (e.stunSeconds > 0f) {
-            e.isMoving = false;
-            return;
-        }
-        if (e.isAttacking) {
-            e.isMoving = false;
-            return;
-        }
-
-        float enemyCenterX = e.x + e.width / 2f;
-        float playerCenterX = playerX + playerWidth / 2f;
-
-        float distX = playerCenterX - enemyCenterX;
-        float absDistX = Math.abs(distX);
-
-        // IMPORTANT: only chase if player is on the same platform
-        boolean samePlatform = isPlayerOnSamePlatformAsEnemy(e);
-
-        // Chase toggle (only if same platform)
-        if (!e.isChasing && samePlatform && absDistX <= e.aggroRangePixels) {
-            e.isChasing = true;
-        } else if (e.isChasing) {
-            // stop chasing if player left platform OR got too far
-            if (!samePlatform || absDistX >= e.disengageRangePixels) {
-                e.isChasing = false;
-            }
-        }
-
-        float speed;
-        int dir;
-
-        if (e.isChasing) {
-            dir = (distX >= 0f) ? 1 : -1;
-            speed = e.chaseSpeed;
-
-            // NEW: do NOT chase off ledges or into walls
-            if (!enemyHasGroundAhead(e, dir) || enemyHasWallAhead(e, dir)) {
-                e.isMoving = false;
-                e.facingRight = dir > 0;
-                return;
-            }
-        } else {
-            dir = e.moveDir;
-            speed = e.patrolSpeed;
-
-            if (e.x <= e.patrolLeftX) {
-                dir = 1;
-            }
-            if (e.x >= e.patrolRightX) {
-                dir = -1;
-            }
-
-            if (!enemyHasGroundAhead(e, dir) || enemyHasWallAhead(e, dir)) {
-                dir = -dir;
-            }
-        }
-
-        float dx = dir * speed * deltaTime;
-        float newX = e.x + dx;
-
-        if (enemyWouldCollideAtX(e, newX)) {
-            e.moveDir = -dir;
-            e.isMoving = false;
-            return;
-        }
-
-        e.x = newX;
-
-        if (e.x < 0f) {
-            e.x = 0f;
-            dir = 1;
-        }
-        if (e.x + e.width > worldWidthPixels) {
-            e.x = worldWidthPixels - e.width;
-            dir = -1;
-        }
-
-        e.moveDir = dir;
-        e.facingRight = dir > 0;
-        e.isMoving = true;
-    }
-
-
-
-    // ----------------------- CAMERA & HITBOX UPDATES -----------------------
-    private void updateCamera() {
-        float camX = playerX + playerWidth / 2f;
-        float camY = playerY + playerHeight / 2f;
-
-        float halfW = camera.viewportWidth * camera.zoom / 2f;
-        float halfH = camera.viewportHeight * camera.zoom / 2f;
-
-        if (camX < halfW) {
-            camX = halfW;
-        }
-        if (camX > worldWidthPixels - halfW) {
-            camX = worldWidthPixels - halfW;
-        }
-
-        if (camY < halfH) {
-            camY = halfH;
-        }
-        if (camY > worldHeightPixels - halfH) {
-            camY = worldHeightPixels - halfH;
-        }
-
-        camera.position.set(camX, camY, 0f);
-    }
-
-    private void updatePlayerHurtbox() {
-        playerHurtbox.set(playerX, playerY, playerWidth, playerHeight);
-    }
-
-    private void updatePlayerSwordHitbox() {
-        if (!isAttacking) {
-            playerSwordHitbox.set(0f, 0f, 0f, 0f);
-            return;
-        }
-
-        float swordX;
-        if (facingRight) {
-            swordX = playerX + playerWidth + SWORD_FORWARD_OFFSET;
-        } else {
-            swordX = playerX - SWORD_FORWARD_OFFSET - SWORD_WIDTH;
-        }
-
-        float swordY = playerY + SWORD_VERTICAL_OFFSET;
-
-        playerSwordHitbox.set(swordX, swordY, SWORD_WIDTH, SWORD_HEIGHT);
-    }
-
-    private void updateEnemyHitboxes() {
-        int i = 0;
-        while (i < enemies.size()) {
-            Enemy e = enemies.get(i);
-
-            e.updateHurtbox();
-
-            // No sword hitbox when dead
-            if (e.isDead) {
-                e.clearSwordHitbox();
-                i = i + 1;
-                continue;
-            }
-
-            if (e.isAttacking) {
-                float swordW = 14f;
-                float swordH = 10f;
-
-                float forward = 6f;
-                float vertical = 4f;
-
-                float swordX;
-                if (e.facingRight) {
-                    swordX = e.x + e.width + forward;
-                } else {
-                    swordX = e.x - forward - swordW;
-                }
-
-                float swordY = e.y + vertical;
-
-                e.swordHitbox.set(swordX, swordY, swordW, swordH);
-            } else {
-                e.clearSwordHitbox();
-            }
-
-            i = i + 1;
-        }
-    }
-
-    private void handlePlayerSwordHits() {
-        if (!isAttacking) {
-            return;
-        }
-
-        int i = 0;
-        while (i < enemies.size()) {
-            Enemy e = enemies.get(i);
-
-            if (e.isDead) {
-                i = i + 1;
-                continue;
-            }
-
-            if (!e.wasHitThisAttack && playerSwordHitbox.overlaps(e.hurtbox)) {
-                e.hp = e.hp - 1;
-                e.wasHitThisAttack = true;
-
-                e.stunSeconds = ENEMY_STUN_DURATION;
-
-                float enemyCenterX = e.x + e.width / 2f;
-                float playerCenterX = playerX + playerWidth / 2f;
-
-                if (enemyCenterX < playerCenterX) {
-                    e.knockbackVelX = -ENEMY_KNOCKBACK_SPEED;
-                } else {
-                    e.knockbackVelX = ENEMY_KNOCKBACK_SPEED;
-                }
-
-                // Cancel swing when hit
-                e.isAttacking = false;
-                e.attackTimeSeconds = 0f;
-                e.clearSwordHitbox();
-
-                if (e.hp <= 0) {
-                    e.startDeath();
-                }
-            }
-
-            i = i + 1;
-        }
-    }
-
-    private void handleEnemySwordHitsPlayer() {
-        if (playerGlobalHurtLockSeconds > 0f) {
-            return;
-        }
-        if (playerSwordHurtCooldownSeconds > 0f) {
-            return;
-        }
-
-        int i = 0;
-        while (i < enemies.size()) {
-            Enemy e = enemies.get(i);
-
-            if (e.isDead) {
-                i = i + 1;
-                continue;
-            }
-
-            if (e.swordHitbox.width > 0f && e.swordHitbox.height > 0f) {
-                if (e.swordHitbox.overlaps(playerHurtbox)) {
-                    playerHp = playerHp - 1;
-
-                    playerStunSeconds = PLAYER_STUN_DURATION;
-
-                    float enemyCenterX = e.x + e.width / 2f;
-                    float playerCenterX = playerX + playerWidth / 2f;
-
-                    if (playerCenterX < enemyCenterX) {
-                        playerKnockbackVelX = -PLAYER_KNOCKBACK_SPEED;
-                    } else {
-                        playerKnockbackVelX = PLAYER_KNOCKBACK_SPEED;
-                    }
-
-                    playerGlobalHurtLockSeconds = PLAYER_GLOBAL_HURT_LOCK;
-                    playerSwordHurtCooldownSeconds = PLAYER_SWORD_HURT_COOLDOWN;
-
-                    return;
-                }
-            }
-
-            i = i + 1;
-        }
-    }
-
-    private void drawHitboxesDebug() {
-        // Player hurtbox (green)
-        shapeRenderer.setColor(0f, 1f, 0f, 1f);
-        shapeRenderer.rect(playerHurtbox.x, playerHurtbox.y, playerHurtbox.width, playerHurtbox.height);
-
-        // Player sword (yellow)
-        shapeRenderer.setColor(1f, 1f, 0f, 1f);
-        shapeRenderer.rect(playerSwordHitbox.x, playerSwordHitbox.y, playerSwordHitbox.width, playerSwordHitbox.height);
-
-        // Enemy hurtboxes (red)
-        shapeRenderer.setColor(1f, 0f, 0f, 1f);
-        int i = 0;
-        while (i < enemies.size()) {
-            Enemy e = enemies.get(i);
-            shapeRenderer.rect(e.hurtbox.x, e.hurtbox.y, e.hurtbox.width, e.hurtbox.height);
-
-            // Enemy sword hitbox (orange-ish)
-            shapeRenderer.setColor(1f, 0.5f, 0f, 1f);
-            shapeRenderer.rect(e.swordHitbox.x, e.swordHitbox.y, e.swordHitbox.width, e.swordHitbox.height);
-
-            shapeRenderer.setColor(1f, 0f, 0f, 1f);
-            i = i + 1;
-        }
-    }
-
-    private void drawDoorShapes() {
-        int rows = currentLevel.getRows();
-        int cols = currentLevel.getCols();
-        int tileSize = currentLevel.getTileSize();
-
-        int row = 0;
-        while (row < rows) {
-            int col = 0;
-            while (col < cols) {
-                int tile = currentLevel.getTile(row, col);
-
-                float x = col * tileSize;
-                float y = row * tileSize;
-
-                if (tile == 2) {
-                    shapeRenderer.setColor(1f, 0f, 0f, 1f);
-                    shapeRenderer.rect(x, y, tileSize, tileSize);
-                }
-
-                if (tile == 3) {
-                    shapeRenderer.setColor(0f, 0.6f, 0.6f, 1f);
-                    shapeRenderer.rect(x, y, tileSize, tileSize);
-                }
-
-                col = col + 1;
-            }
-            row = row + 1;
-        }
-    }
-
-    private void drawTilesWithTextures() {
-        int rows = currentLevel.getRows();
-        int cols = currentLevel.getCols();
-        int tileSize = currentLevel.getTileSize();
-
-        int row = 0;
-        while (row < rows) {
-            int col = 0;
-            while (col < cols) {
-                int tile = currentLevel.getTile(row, col);
-
-                float x = col * tileSize;
-                float y = row * tileSize;
-
-                if (tile == 1) {
-                    batch.draw(grassTexture, x, y, tileSize, tileSize);
-                } else if (tile == 4) {
-                    batch.draw(dirtTexture, x, y, tileSize, tileSize);
-                } else if (tile == 5) {
-                    batch.draw(rightTopGrassTexture, x, y, tileSize, tileSize);
-                } else if (tile == 6) {
-                    batch.draw(leftTopGrassTexture, x, y, tileSize, tileSize);
-                } else if (tile == 7) {
-                    batch.draw(leftDirtTexture, x, y, tileSize, tileSize);
-                } else if (tile == 8) {
-                    batch.draw(rightDirtTexture, x, y, tileSize, tileSize);
-                } else if (tile == 9) {
-                    batch.draw(bottomDirtTexture, x, y, tileSize, tileSize);
-                } else if (tile == 10) {
-                    batch.draw(rightBottomDirtTexture, x, y, tileSize, tileSize);
-                } else if (tile == 11) {
-                    batch.draw(leftBottomDirtTexture, x, y, tileSize, tileSize);
-                } else if (tile == 12) {
-                    batch.draw(roundedGrassTexture, x, y, tileSize, tileSize);
-                } else if (tile == 13) {
-                    batch.draw(roundedGrassFlipTexture, x, y, tileSize, tileSize);
-                }
-
-                col = col + 1;
-            }
-            row = row + 1;
-        }
-    }
-
-    @Override
-    public void dispose() {
-        if (shapeRenderer != null) {
-            shapeRenderer.dispose();
-        }
-        if (batch != null) {
-            batch.dispose();
-        }
-
-        if (playerSheetTexture != null) {
-            playerSheetTexture.dispose();
-        }
-        if (skeletonSheetTexture != null) {
-            skeletonSheetTexture.dispose();
-        }
-        if (plainsSheetTexture != null) {
-            plainsSheetTexture.dispose();
-        }
-
-        if (grassTexture != null) {
-            grassTexture.dispose();
-        }
-        if (dirtTexture != null) {
-            dirtTexture.dispose();
-        }
-        if (rightTopGrassTexture != null) {
-            rightTopGrassTexture.dispose();
-        }
-        if (leftTopGrassTexture != null) {
-            leftTopGrassTexture.dispose();
-        }
-        if (leftDirtTexture != null) {
-            leftDirtTexture.dispose();
-        }
-        if (rightDirtTexture != null) {
-            rightDirtTexture.dispose();
-        }
-        if (bottomDirtTexture != null) {
-            bottomDirtTexture.dispose();
-        }
-        if (leftBottomDirtTexture != null) {
-            leftBottomDirtTexture.dispose();
-        }
-        if (rightBottomDirtTexture != null) {
-            rightBottomDirtTexture.dispose();
-        }
-        if (roundedGrassTexture != null) {
-            roundedGrassTexture.dispose();
-        }
-        if (roundedGrassFlipTexture != null) {
-            roundedGrassFlipTexture.dispose();
+        if (art != null) {
+            art.dispose();
         }
     }
 }
@@ -0,0 +1,110 @@
+package com.anthony.platformer;
+
+import com.badlogic.gdx.math.Rectangle;
+
+public class Player {
+    public float x;
+    public float y;
+
+    // Position at the start of the last tick (render interpolation)
+    public float prevX;
+    public float prevY;
+
+    public float width = 16f;
+    public float height = 20f;
+
+    public float moveSpeed = 150f;
+
+    public float velocityY = 0f;
+    public float jumpVelocity = 300f;
+
+    public boolean facingRight = true;
+    public boolean isMoving = false;
+
+    // Double jump
+    public int maxJumps = 2;
+    public int jumpsUsed = 0;
+    public boolean isOnGround = false;
+
+    // PlatformSegment under the player's feet, -1 = airborne or none
+    public int segment = -1;
+
+    // --- Combat / collision boxes ---
+    public final Rectangle hurtbox = new Rectangle();
+    public final Rectangle swordHitbox = new Rectangle();
+
+    // --- Attack timing ---
+    public boolean isAttacking = false;
+    public float attackTimeSeconds = 0f;
+    public float attackDurationSeconds = 0f;
+
+    // --- Animation time ---
+    public float animTimeSeconds = 0f;
+    public boolean deathStarted = false;
+
+    public int hp = 5;
+
+    // --- Damage cooldowns ---
+    // Optional: basic "invincibility" so you don't take damage every frame
+    public float hurtCooldownSeconds = 0f;
+    public float globalHurtLockSeconds = 0f;
+    public float bodyHurtCooldownSeconds = 0f;
+    public float swordHurtCooldownSeconds = 0f;
+
+    // --- Hit reaction ---
+    public float stunSeconds = 0f;
+    public float knockbackVelX = 0f;
+
+    public void snapPrevious() {
+        prevX = x;
+        prevY = y;
+    }
+
+    public float interpolatedX(float alpha) {
+        return prevX + (x - prevX) * alpha;
+    }
+
+    public float interpolatedY(float alpha) {
+        return prevY + (y - prevY) * alpha;
+    }
+
+    /**
+     * Copies what the renderer reads (position, boxes, animation state) from {@code source}.
+     */
+    public void copyRenderState(Player source) {
+        x = source.x;
+        y = source.y;
+        prevX = source.prevX;
+        prevY = source.prevY;
+        width = source.width;
+        height = source.height;
+
+        facingRight = source.facingRight;
+        isMoving = source.isMoving;
+
+        hurtbox.set(source.hurtbox);
+        swordHitbox.set(source.swordHitbox);
+
+        isAttacking = source.isAttacking;
+        attackTimeSeconds = source.attackTimeSeconds;
+        animTimeSeconds = source.animTimeSeconds;
+        stunSeconds = source.stunSeconds;
+        hp = source.hp;
+    }
+
+    public boolean isDead() {
+        return hp <= 0;
+    }
+
+    public float centerX() {
+        return x + width / 2f;
+    }
+
+    public void updateHurtbox() {
+        hurtbox.set(x, y, width, height);
+    }
+
+    public void clearSwordHitbox() {
+        swordHitbox.set(0f, 0f, 0f, 0f);
+    }
+}
@@ -0,0 +1,129 @@
+package com.anthony.platformer;
+
+import com.anthony.platformer.data.GameConfig;
+
+/**
+ * What the renderer needs from one simulation tick: the player, every enemy, the level and (for
+ * streamed levels) the tiles around the view.
+ *
+ * With the simulation on its own thread (SimulationThread), {@link #capture} copies all of it out of
+ * the World so a frame can be drawn while the next tick runs; snapshots are reused, and capture
+ * overwrites everything and only grows the arrays. Single-threaded there's nothing to race, so
+ * {@link #bind} just points the fields at the live World and copies nothing.
+ */
+public class RenderSnapshot {
+
+    // Ticks simulated when this was captured, and when (System.nanoTime)
+    public long tick;
+    public long capturedNanos;
+
+    // The level is shared, not copied: its tiles never change after load
+    public Level level;
+    public int levelNumber;
+    public int worldWidthPixels;
+    public int worldHeightPixels;
+
+    // This snapshot's own copies after capture(), the World's live objects after bind()
+    public Player player;
+    public EnemyStore enemies;
+
+    private final Player playerCopy = new Player();
+    private final EnemyStore enemiesCopy = new EnemyStore();
+    private boolean live = false;
+
+    // Streamed levels only: tiles (row-major) of the window around the view. ChunkedTiles is
+    // single-threaded, so the renderer reads this copy instead.
+    private int tileMinCol;
+    private int tileMinRow;
+    private int tileCols;
+    private int tileRows;
+    private byte[] tiles = new byte[0];
+
+    /**
+     * Copies the world's current state. Runs on the simulation thread, between ticks.
+     */
+    public void capture(World world, long tick) {
+        readHeader(world, tick);
+        live = false;
+
+        playerCopy.copyRenderState(world.getPlayer());
+        enemiesCopy.copyRenderState(world.getEnemies());
+        player = playerCopy;
+        enemies = enemiesCopy;
+
+        if (level.isStreamed()) {
+            captureTiles(world);
+        } else {
+            tileCols = 0;
+            tileRows = 0;
+        }
+    }
+
+    /**
+     * Points at {@code world}'s own player, enemies and level instead of copying them. Only valid
+     * while nothing steps the world, i.e. on the thread that does.
+     */
+    public void bind(World world, long tick) {
+        readHeader(world, tick);
+        live = true;
+
+        player = world.getPlayer();
+        enemies = world.getEnemies();
+        tileCols = 0;
+        tileRows = 0;
+    }
+
+    /**
+     * Tile id at (row, col), like Level.getTile. On a captured streamed level, cells outside the
+     * copied window read as empty.
+     */
+    public int getTile(int row, int col) {
+        if (live || !level.isStreamed()) {
+            return level.getTile(row, col);
+        }
+
+        int localCol = col - tileMinCol;
+        int localRow = row - tileMinRow;
+        if (localCol < 0 || localCol >= tileCols || localRow < 0 || localRow >= tileRows) {
+            return Tiles.EMPTY;
+        }
+        return tiles[localRow * tileCols + localCol];
+    }
+
+    private void readHeader(World world, long tick) {
+        this.tick = tick;
+        this.capturedNanos = System.nanoTime();
+
+        level = world.getLevel();
+        levelNumber = world.getCurrentLevelNumber();
+        worldWidthPixels = world.getWorldWidthPixels();
+        worldHeightPixels = world.getWorldHeightPixels();
+    }
+
+    private void captureTiles(World world) {
+        int tileSize = level.getTileSize();
+        int margin = GameConfig.RENDER_TILE_MARGIN_TILES;
+
+        tileMinCol = Math.max(0, (int) Math.floor(world.getViewLeft() / tileSize) - margin);
+        tileMinRow = Math.max(0, (int) Math.floor(world.getViewBottom() / tileSize) - margin);
+        int maxCol = Math.min(level.getCols() - 1, (int) Math.floor(world.getViewRight() / tileSize) + margin);
+        int maxRow = Math.min(level.getRows() - 1, (int) Math.floor(world.getViewTop() / tileSize) + margin);
+
+        tileCols = Math.max(0, maxCol - tileMinCol + 1);
+        tileRows = Math.max(0, maxRow - tileMinRow + 1);
+
+        if (tiles.length < tileCols * tileRows) {
+            tiles = new byte[tileCols * tileRows];
+        }
+
+        int row = 0;
+        while (row < tileRows) {
+            int col = 0;
+            while (col < tileCols) {
+                tiles[row * tileCols + col] = (byte) level.getTile(tileMinRow + row, tileMinCol + col);
+                col = col + 1;
+            }
+            row = row + 1;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.anthony.platformer;
+
+import com.anthony.platformer.data.GameConfig;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a World at the fixed tick rate on its own thread, so a heavy tick and a heavy draw no
+ * longer share one frame.
+ *
+ * The two threads share nothing but these:
+ * - render snapshots, triple-buffered: the simulation fills its back buffer and swaps it with the
+ *   middle one; the render thread swaps the middle one with its front buffer when there's a newer
+ *   one. One atomic int holds the middle buffer's index and a "fresh" bit, so neither side ever
+ *   waits for the other or sees a buffer being written.
+ * - input: the buttons held at the last poll, plus every button pressed since the last tick (so a
+ *   tap shorter than a tick isn't lost)
+ * - the camera view, for enemy activity tiers
+ * - the tick profiler's overlay text, rebuilt every few ticks (its full stats only after stop)
+ *
+ * Once {@link #start} is called the World belongs to this thread; don't touch it from anywhere
+ * else until {@link #stop} returns.
+ */
+public class SimulationThread {
+
+    private static final int FRESH = 4;
+    private static final int INDEX_MASK = 3;
+
+    private static final int BUTTON_LEFT = 1;
+    private static final int BUTTON_RIGHT = 2;
+    private static final int BUTTON_JUMP = 4;
+    private static final int BUTTON_ATTACK = 8;
+
+    private final World world;
+    private final FixedTimestep timestep;
+    private final long stepNanos;
+    private final Thread thread;
+
+    // ---------------- SNAPSHOTS ----------------
+    private final RenderSnapshot[] buffers = {new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()};
+
+    // Middle buffer index | FRESH when the simulation has published since the render thread last took it
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    // Owned by the simulation thread / the render thread
+    private int backIndex = 0;
+    private int frontIndex = 2;
+
+    // ---------------- INPUT / VIEW (render thread -> simulation) ----------------
+    private volatile int heldButtons;
+    private final AtomicInteger pressedButtons = new AtomicInteger();
+
+    // Written as four separate floats, so a tick can read a half-updated view; that only moves an
+    // enemy's activity tier boundary by a frame's worth of camera motion
+    private volatile float viewLeft;
+    private volatile float viewBottom;
+    private volatile float viewRight;
+    private volatile float viewTop;
+    private volatile boolean hasView = false;
+
+    // ---------------- PROFILER ----------------
+    // World.step's phases, one profiler "frame" per tick. Lapped on the simulation thread only
+    private final FrameProfiler profiler = new FrameProfiler(GameConfig.PROFILER_WINDOW_FRAMES);
+    private int profileRefreshTicks = 0;
+    private volatile String profileText = "";
+
+    private volatile boolean running = false;
+    private volatile Throwable failure;
+
+    public SimulationThread(World world) {
+        this.world = world;
+        this.timestep = new FixedTimestep(
+            GameConfig.SIM_TICKS_PER_SECOND, GameConfig.SIM_MAX_STEPS_PER_FRAME, GameConfig.SIM_MAX_FRAME_SECONDS);
+        this.stepNanos = 1_000_000_000L / GameConfig.SIM_TICKS_PER_SECOND;
+
+        // Something to draw before the first tick
+        buffers[frontIndex].capture(world, 0);
+
+        world.setProfiler(profiler);
+
+        thread = new Thread(this::run, "simulation");
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        if (running) {
+            throw new IllegalStateException("Simulation thread already started");
+        }
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Stops the loop after the current tick and waits for it. The World is the caller's again afterwards.
+     */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ---------------- RENDER THREAD ----------------
+
+    /**
+     * The newest published snapshot. It stays valid (nothing writes it) until the next call.
+     *
+     * @throws IllegalStateException if the simulation thread died
+     */
+    public RenderSnapshot acquire() {
+        if (failure != null) {
+            throw new IllegalStateException("Simulation thread failed", failure);
+        }
+
+        if ((middle.get() & FRESH) != 0) {
+            frontIndex = middle.getAndSet(frontIndex) & INDEX_MASK;
+        }
+        return buffers[frontIndex];
+    }
+
+    /**
+     * How far the render clock is past {@code snapshot}'s tick (0..1), for interpolating from its
+     * previous positions to its current ones.
+     */
+    public float getAlpha(RenderSnapshot snapshot) {
+        float alpha = (float) (System.nanoTime() - snapshot.capturedNanos) / stepNanos;
+        return Math.max(0f, Math.min(1f, alpha));
+    }
+
+    public void setInput(InputState input) {
+        int buttons = toButtons(input);
+        heldButtons = buttons;
+        pressedButtons.getAndAccumulate(buttons, (a, b) -> a | b);
+    }
+
+    /**
+     * Per-tick phase times over the last PROFILER_WINDOW_FRAMES ticks (see
+     * FrameProfiler.appendWindowStats), refreshed every PROFILER_OVERLAY_REFRESH_FRAMES ticks.
+     */
+    public String getProfileText() {
+        return profileText;
+    }
+
+    /**
+     * The tick profiler itself. It's written by the simulation thread, so only read it after stop().
+     */
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    public void setView(float left, float bottom, float right, float top) {
+        viewLeft = left;
+        viewBottom = bottom;
+        viewRight = right;
+        viewTop = top;
+        hasView = true;
+    }
+
+    // ---------------- SIMULATION THREAD ----------------
+
+    private void run() {
+        InputState input = new InputState();
+        long tick = 0;
+        long lastNanos = System.nanoTime();
+
+        try {
+            while (running) {
+                long now = System.nanoTime();
+                int steps = timestep.advance((now - lastNanos) / 1_000_000_000f);
+                lastNanos = now;
+
+                if (steps > 0) {
+                    if (hasView) {
+                        world.setView(viewLeft, viewBottom, viewRight, viewTop);
+                    }
+                    fromButtons(pressedButtons.getAndSet(0) | heldButtons, input);
+
+                    int step = 0;
+                    while (step < steps) {
+                        world.step(timestep.getStepSeconds(), input);
+                        profiler.endFrame();
+                        tick = tick + 1;
+                        step = step + 1;
+                    }
+
+                    profileRefreshTicks = profileRefreshTicks - steps;
+                    if (profileRefreshTicks <= 0) {
+                        refreshProfileText();
+                        profileRefreshTicks = GameConfig.PROFILER_OVERLAY_REFRESH_FRAMES;
+                    }
+
+                    publish(tick);
+                }
+
+                // Sleep until the next tick is due
+                long waitNanos = (long) ((1f - timestep.getAlpha()) * stepNanos);
+                if (waitNanos > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                }
+            }
+        } catch (Throwable t) {
+            // Handed to the render thread on its next acquire()
+            failure = t;
+            running = false;
+        }
+    }
+
+    private void refreshProfileText() {
+        profiler.refreshWindowStats();
+
+        StringBuilder text = new StringBuilder();
+        profiler.appendWindowStats(text);
+        profileText = text.toString();
+    }
+
+    private void publish(long tick) {
+        buffers[backIndex].capture(world, tick);
+        backIndex = middle.getAndSet(backIndex | FRESH) & INDEX_MASK;
+    }
+
+    private static int toButtons(InputState input) {
+        int buttons = 0;
+        if (input.left) {
+            buttons = buttons | BUTTON_LEFT;
+        }
+        if (input.right) {
+            buttons = buttons | BUTTON_RIGHT;
+        }
+        if (input.jump) {
+            buttons = buttons | BUTTON_JUMP;
+        }
+        if (input.attack) {
+            buttons = buttons | BUTTON_ATTACK;
+        }
+        return buttons;
+    }
+
+    private static void fromButtons(int buttons, InputState input) {
+        input.left = (buttons & BUTTON_LEFT) != 0;
+        input.right = (buttons & BUTTON_RIGHT) != 0;
+        input.jump = (buttons & BUTTON_JUMP) != 0;
+        input.attack = (buttons & BUTTON_ATTACK) != 0;
+    }
+}
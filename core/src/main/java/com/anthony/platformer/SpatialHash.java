@@ -0,0 +1,193 @@
+package com.anthony.platformer;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid broadphase for small boxes, keyed by integer item ids (enemy slot indices).
+ *
+ * Rebuild it each tick with {@link #clear()} + {@link #insert}, then ask {@link #query} which items
+ * might overlap a region. Cells are hashed into a fixed table, so the world can be any size.
+ * After the tables have grown to fit the busiest tick, nothing here allocates.
+ */
+public class SpatialHash {
+
+    private static final int NONE = -1;
+
+    private final float cellSize;
+    private final float invCellSize;
+
+    // Hash table: bucket -> first entry. Buckets from older rebuilds are treated as empty (stamp).
+    private int[] bucketHead;
+    private int[] bucketStamp;
+    private int bucketMask;
+    private int stamp = 1;
+
+    // One entry per (item, cell) pair, chained per bucket
+    private int[] entryCellX;
+    private int[] entryCellY;
+    private int[] entryItem;
+    private int[] entryNext;
+    private int entryCount = 0;
+
+    // Per-item marker so an item spanning several cells is reported once per query
+    private int[] itemQueryStamp;
+    private int queryStamp = 0;
+
+    public SpatialHash(float cellSize) {
+        this(cellSize, 64);
+    }
+
+    public SpatialHash(float cellSize, int expectedItems) {
+        if (cellSize <= 0f) {
+            throw new IllegalArgumentException("cellSize must be > 0");
+        }
+
+        this.cellSize = cellSize;
+        this.invCellSize = 1f / cellSize;
+
+        int entries = Math.max(16, expectedItems * 4);
+        allocateBuckets(MathUtils.nextPowerOfTwo(entries * 2));
+
+        entryCellX = new int[entries];
+        entryCellY = new int[entries];
+        entryItem = new int[entries];
+        entryNext = new int[entries];
+
+        itemQueryStamp = new int[Math.max(16, expectedItems)];
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Drops every entry. O(1): buckets are invalidated by bumping the stamp.
+     */
+    public void clear() {
+        // Keep the load factor under 1/2 for the next rebuild
+        if (entryCount * 2 > bucketHead.length) {
+            allocateBuckets(MathUtils.nextPowerOfTwo(entryCount * 2));
+        }
+
+        entryCount = 0;
+        stamp = stamp + 1;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(bucketStamp, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Adds {@code item} to every cell the box touches.
+     */
+    public void insert(int item, float x, float y, float width, float height) {
+        if (item >= itemQueryStamp.length) {
+            itemQueryStamp = Arrays.copyOf(itemQueryStamp, Math.max(item + 1, itemQueryStamp.length * 2));
+        }
+
+        int minCellX = MathUtils.floor(x * invCellSize);
+        int maxCellX = MathUtils.floor((x + width) * invCellSize);
+        int minCellY = MathUtils.floor(y * invCellSize);
+        int maxCellY = MathUtils.floor((y + height) * invCellSize);
+
+        int cy = minCellY;
+        while (cy <= maxCellY) {
+            int cx = minCellX;
+            while (cx <= maxCellX) {
+                addEntry(item, cx, cy);
+                cx = cx + 1;
+            }
+            cy = cy + 1;
+        }
+    }
+
+    /**
+     * Writes the items whose cells touch the region into {@code out} (cleared first),
+     * each once, sorted ascending. These are candidates: callers still do the exact overlap test.
+     */
+    public void query(float x, float y, float width, float height, IntArray out) {
+        out.clear();
+
+        queryStamp = queryStamp + 1;
+        if (queryStamp == Integer.MAX_VALUE) {
+            Arrays.fill(itemQueryStamp, 0);
+            queryStamp = 1;
+        }
+
+        int minCellX = MathUtils.floor(x * invCellSize);
+        int maxCellX = MathUtils.floor((x + width) * invCellSize);
+        int minCellY = MathUtils.floor(y * invCellSize);
+        int maxCellY = MathUtils.floor((y + height) * invCellSize);
+
+        int cy = minCellY;
+        while (cy <= maxCellY) {
+            int cx = minCellX;
+            while (cx <= maxCellX) {
+                int bucket = hash(cx, cy);
+
+                if (bucketStamp[bucket] == stamp) {
+                    int entry = bucketHead[bucket];
+                    while (entry != NONE) {
+                        if (entryCellX[entry] == cx && entryCellY[entry] == cy) {
+                            int item = entryItem[entry];
+                            if (itemQueryStamp[item] != queryStamp) {
+                                itemQueryStamp[item] = queryStamp;
+                                out.add(item);
+                            }
+                        }
+                        entry = entryNext[entry];
+                    }
+                }
+
+                cx = cx + 1;
+            }
+            cy = cy + 1;
+        }
+
+        // Keep results in slot order so combat resolves the same way the full scan did
+        if (out.size > 1) {
+            out.sort();
+        }
+    }
+
+    private void addEntry(int item, int cellX, int cellY) {
+        if (entryCount == entryItem.length) {
+            int capacity = entryItem.length * 2;
+            entryCellX = Arrays.copyOf(entryCellX, capacity);
+            entryCellY = Arrays.copyOf(entryCellY, capacity);
+            entryItem = Arrays.copyOf(entryItem, capacity);
+            entryNext = Arrays.copyOf(entryNext, capacity);
+        }
+
+        int bucket = hash(cellX, cellY);
+        if (bucketStamp[bucket] != stamp) {
+            bucketStamp[bucket] = stamp;
+            bucketHead[bucket] = NONE;
+        }
+
+        int entry = entryCount;
+        entryCount = entryCount + 1;
+
+        entryCellX[entry] = cellX;
+        entryCellY[entry] = cellY;
+        entryItem[entry] = item;
+        entryNext[entry] = bucketHead[bucket];
+        bucketHead[bucket] = entry;
+    }
+
+    private int hash(int cellX, int cellY) {
+        int h = cellX * 73856093 ^ cellY * 19349663;
+        return (h ^ (h >>> 16)) & bucketMask;
+    }
+
+    private void allocateBuckets(int size) {
+        bucketHead = new int[size];
+        bucketStamp = new int[size];
+        bucketMask = size - 1;
+        // Old entries may now hash elsewhere; the caller is about to rebuild anyway
+        stamp = 1;
+    }
+}
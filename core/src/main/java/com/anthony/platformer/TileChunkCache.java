@@ -0,0 +1,171 @@
+package com.anthony.platformer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * The static tile layer of one level, baked once into a SpriteCache as square chunks.
+ *
+ * Tiles don't change after a level loads, so their vertices are uploaded once on {@link #build}
+ * and each frame only the chunks overlapping the view are drawn. Per-frame cost stays about
+ * the same no matter how large the level is.
+ */
+public class TileChunkCache implements Disposable {
+
+    // Chunk edge, in tiles
+    public static final int CHUNK_TILES = 32;
+
+    private SpriteCache cache;
+    private int cacheCapacity = 0;
+
+    private Level level;
+    private int chunkCols;
+    private int chunkRows;
+
+    // Chunk index (chunkRow * chunkCols + chunkCol) -> SpriteCache id, -1 = nothing to draw
+    private int[] chunkCacheIds = new int[0];
+
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * True if {@code level} is what's baked.
+     */
+    public boolean isBuiltFor(Level level) {
+        return this.level == level;
+    }
+
+    /**
+     * Bakes {@code level}, replacing whatever was cached before.
+     * {@code tileRegions} maps tile id to region; null entries aren't drawn.
+     */
+    public void build(Level level, TextureRegion[] tileRegions) {
+        this.level = level;
+
+        int rows = level.getRows();
+        int cols = level.getCols();
+        int tileSize = level.getTileSize();
+
+        int drawnTiles = countDrawnTiles(level, tileRegions);
+
+        // Keep the old cache (and its GPU buffer) when it's already big enough
+        if (cache == null || drawnTiles > cacheCapacity) {
+            if (cache != null) {
+                cache.dispose();
+            }
+            cacheCapacity = Math.max(1, drawnTiles);
+            // No index buffer: indexed caches top out at 8191 sprites
+            cache = new SpriteCache(cacheCapacity, false);
+        } else {
+            cache.clear();
+        }
+
+        chunkCols = (cols + CHUNK_TILES - 1) / CHUNK_TILES;
+        chunkRows = (rows + CHUNK_TILES - 1) / CHUNK_TILES;
+        if (chunkCacheIds.length < chunkCols * chunkRows) {
+            chunkCacheIds = new int[chunkCols * chunkRows];
+        }
+
+        int chunkRow = 0;
+        while (chunkRow < chunkRows) {
+            int chunkCol = 0;
+            while (chunkCol < chunkCols) {
+                int minRow = chunkRow * CHUNK_TILES;
+                int maxRow = Math.min(rows, minRow + CHUNK_TILES);
+                int minCol = chunkCol * CHUNK_TILES;
+                int maxCol = Math.min(cols, minCol + CHUNK_TILES);
+
+                boolean empty = true;
+                cache.beginCache();
+
+                int row = minRow;
+                while (row < maxRow) {
+                    int col = minCol;
+                    while (col < maxCol) {
+                        TextureRegion region = tileRegions[level.getTile(row, col)];
+                        if (region != null) {
+                            cache.add(region, col * tileSize, row * tileSize, tileSize, tileSize);
+                            empty = false;
+                        }
+                        col = col + 1;
+                    }
+                    row = row + 1;
+                }
+
+                int id = cache.endCache();
+                chunkCacheIds[chunkRow * chunkCols + chunkCol] = empty ? -1 : id;
+
+                chunkCol = chunkCol + 1;
+            }
+            chunkRow = chunkRow + 1;
+        }
+    }
+
+    /**
+     * Draws the chunks touching the inclusive tile range. Call outside any SpriteBatch begin/end.
+     */
+    public void render(Matrix4 projection, int minCol, int maxCol, int minRow, int maxRow) {
+        if (cache == null || minCol > maxCol || minRow > maxRow) {
+            return;
+        }
+
+        int minChunkCol = Math.max(0, minCol / CHUNK_TILES);
+        int maxChunkCol = Math.min(chunkCols - 1, maxCol / CHUNK_TILES);
+        int minChunkRow = Math.max(0, minRow / CHUNK_TILES);
+        int maxChunkRow = Math.min(chunkRows - 1, maxRow / CHUNK_TILES);
+
+        // SpriteCache doesn't touch blending; the rounded grass tiles need it
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+        cache.setProjectionMatrix(projection);
+        cache.begin();
+
+        int chunkRow = minChunkRow;
+        while (chunkRow <= maxChunkRow) {
+            int chunkCol = minChunkCol;
+            while (chunkCol <= maxChunkCol) {
+                int id = chunkCacheIds[chunkRow * chunkCols + chunkCol];
+                if (id >= 0) {
+                    cache.draw(id);
+                }
+                chunkCol = chunkCol + 1;
+            }
+            chunkRow = chunkRow + 1;
+        }
+
+        cache.end();
+    }
+
+    private static int countDrawnTiles(Level level, TextureRegion[] tileRegions) {
+        int count = 0;
+
+        int row = 0;
+        while (row < level.getRows()) {
+            int col = 0;
+            while (col < level.getCols()) {
+                if (tileRegions[level.getTile(row, col)] != null) {
+                    count = count + 1;
+                }
+                col = col + 1;
+            }
+            row = row + 1;
+        }
+
+        return count;
+    }
+
+    @Override
+    public void dispose() {
+        if (cache != null) {
+            cache.dispose();
+            cache = null;
+        }
+        level = null;
+    }
+}
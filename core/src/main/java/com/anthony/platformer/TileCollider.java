@@ -0,0 +1,249 @@
+package com.anthony.platformer;
+
+/**
+ * All tile collision in the game: the player, every enemy, and the probes the AI makes.
+ *
+ * Moves are swept (continuous), one axis at a time: every column (or row) the box's leading edge
+ * crosses on the way is checked, so nothing tunnels through a tile however big the move is, and
+ * there's no need to substep. The cost is one cell check per tile crossed, times the tiles the
+ * box spans on the other axis.
+ *
+ * Bodies are plain numbers: a box and what's off the map counts as ({@code outside}, see
+ * Level.getFlags: 0 for the player, Tiles.FLAG_SOLID for enemies). {@link #fall} runs a whole
+ * set of bodies stored as parallel arrays (EnemyStore) in one pass.
+ *
+ * Sweep results land in the public fields (reused, nothing is allocated per call).
+ */
+public class TileCollider {
+
+    // Where the box ends up on the swept axis (x for sweepX, y for sweepY)
+    public float position;
+
+    // Fraction of the move made before contact: 1 = no contact, 0 = blocked from the start
+    public float time;
+
+    // Contact normal, pointing away from the tile hit (0, 0 = no contact)
+    public int normalX;
+    public int normalY;
+
+    public boolean hit;
+
+    private Level level;
+    private int tileSize;
+
+    public void setLevel(Level level) {
+        this.level = level;
+        this.tileSize = level.getTileSize();
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    // ---------------- PROBES ----------------
+
+    public boolean isSolid(int col, int row, int outside) {
+        return (level.getFlags(col, row, outside) & Tiles.FLAG_SOLID) != 0;
+    }
+
+    /**
+     * Any solid tile in column {@code col}, rows minRow..maxRow (inclusive)?
+     */
+    public boolean isColumnBlocked(int col, int minRow, int maxRow, int outside) {
+        int row = minRow;
+        while (row <= maxRow) {
+            if (isSolid(col, row, outside)) {
+                return true;
+            }
+            row = row + 1;
+        }
+        return false;
+    }
+
+    /**
+     * Any solid tile in row {@code row}, columns minCol..maxCol (inclusive)?
+     */
+    public boolean isRowBlocked(int row, int minCol, int maxCol, int outside) {
+        int col = minCol;
+        while (col <= maxCol) {
+            if (isSolid(col, row, outside)) {
+                return true;
+            }
+            col = col + 1;
+        }
+        return false;
+    }
+
+    /**
+     * A grounded, still body exactly on a tile top with something solid under it. Gravity would only
+     * push it into the tile and the sweep would put it straight back, so callers can skip both.
+     */
+    public boolean isResting(float x, float y, float width, float velocityY, boolean onGround, int outside) {
+        if (!onGround || velocityY != 0f) {
+            return false;
+        }
+
+        int row = floorDiv(y);
+        if (y != row * tileSize) {
+            return false;
+        }
+
+        return isRowBlocked(row - 1, floorDiv(x), ceilDiv(x + width) - 1, outside);
+    }
+
+    // ---------------- SWEEPS ----------------
+
+    /**
+     * Moves the box (x, y, width, height) by {@code deltaX}, stopping flush against the first solid
+     * column in the way.
+     *
+     * @return true if it hit something
+     */
+    public boolean sweepX(float x, float y, float width, float height, float deltaX, int outside) {
+        // Rows the box covers (touching a row's edge doesn't count)
+        int minRow = floorDiv(y);
+        int maxRow = ceilDiv(y + height) - 1;
+
+        if (deltaX > 0f) {
+            float right = x + width;
+            int col = floorDiv(right);
+            int lastCol = Math.min(ceilDiv(right + deltaX) - 1, lastSearchIndex(level.getCols(), outside));
+
+            while (col <= lastCol) {
+                if (isColumnBlocked(col, minRow, maxRow, outside)) {
+                    float contactX = col * tileSize;
+                    return contact(contactX - width, (contactX - right) / deltaX, -1, 0);
+                }
+                col = col + 1;
+            }
+        } else if (deltaX < 0f) {
+            int col = ceilDiv(x) - 1;
+            int lastCol = Math.max(floorDiv(x + deltaX), firstSearchIndex(outside));
+
+            while (col >= lastCol) {
+                if (isColumnBlocked(col, minRow, maxRow, outside)) {
+                    float contactX = (col + 1) * tileSize;
+                    return contact(contactX, (x - contactX) / -deltaX, 1, 0);
+                }
+                col = col - 1;
+            }
+        }
+
+        return noContact(x + deltaX);
+    }
+
+    /**
+     * Vertical twin of {@link #sweepX}: a hit moving down has normalY = 1 (landed on something).
+     */
+    public boolean sweepY(float x, float y, float width, float height, float deltaY, int outside) {
+        int minCol = floorDiv(x);
+        int maxCol = ceilDiv(x + width) - 1;
+
+        if (deltaY > 0f) {
+            float top = y + height;
+            int row = floorDiv(top);
+            int lastRow = Math.min(ceilDiv(top + deltaY) - 1, lastSearchIndex(level.getRows(), outside));
+
+            while (row <= lastRow) {
+                if (isRowBlocked(row, minCol, maxCol, outside)) {
+                    float contactY = row * tileSize;
+                    return contact(contactY - height, (contactY - top) / deltaY, 0, -1);
+                }
+                row = row + 1;
+            }
+        } else if (deltaY < 0f) {
+            int row = ceilDiv(y) - 1;
+            int lastRow = Math.max(floorDiv(y + deltaY), firstSearchIndex(outside));
+
+            while (row >= lastRow) {
+                if (isRowBlocked(row, minCol, maxCol, outside)) {
+                    float contactY = (row + 1) * tileSize;
+                    return contact(contactY, (y - contactY) / -deltaY, 0, 1);
+                }
+                row = row - 1;
+            }
+        }
+
+        return noContact(y + deltaY);
+    }
+
+    // ---------------- BATCH ----------------
+
+    /**
+     * Gravity and a swept vertical move for bodies from..to-1 stored as parallel arrays: velocityY
+     * gains {@code gravity * deltaTime} (no faster than {@code terminalVelocity}), y moves, and hitting
+     * a ceiling or the ground stops it. Bodies with {@code frozen[i]} set, or resting on the ground,
+     * are left alone. Bodies only touch their own slots, so disjoint ranges can run on different
+     * threads, each with its own TileCollider.
+     */
+    public void fall(float[] x, float[] y, float[] width, float[] height, float[] velocityY, boolean[] onGround,
+                     boolean[] frozen, int from, int to, float gravity, float terminalVelocity, float deltaTime, int outside) {
+        int i = from;
+        while (i < to) {
+            if (frozen[i] || isResting(x[i], y[i], width[i], velocityY[i], onGround[i], outside)) {
+                i = i + 1;
+                continue;
+            }
+
+            float vy = velocityY[i] + gravity * deltaTime;
+            if (vy < terminalVelocity) {
+                vy = terminalVelocity;
+            }
+            velocityY[i] = vy;
+
+            float deltaY = vy * deltaTime;
+            if (deltaY != 0f) {
+                onGround[i] = false;
+
+                sweepY(x[i], y[i], width[i], height[i], deltaY, outside);
+                y[i] = position;
+
+                if (hit) {
+                    velocityY[i] = 0f;
+                    onGround[i] = normalY > 0;
+                }
+            }
+
+            i = i + 1;
+        }
+    }
+
+    // ---------------- INTERNALS ----------------
+
+    private boolean contact(float position, float time, int normalX, int normalY) {
+        this.position = position;
+        // Negative when the box already overlapped the tile; it's pushed back out
+        this.time = Math.max(0f, time);
+        this.normalX = normalX;
+        this.normalY = normalY;
+        this.hit = true;
+        return true;
+    }
+
+    private boolean noContact(float position) {
+        this.position = position;
+        this.time = 1f;
+        this.normalX = 0;
+        this.normalY = 0;
+        this.hit = false;
+        return false;
+    }
+
+    // Past the map edge nothing changes: if off-map isn't solid, don't walk the empty cells out there.
+    // If it is, the first off-map cell is the wall.
+    private static int lastSearchIndex(int count, int outside) {
+        return (outside & Tiles.FLAG_SOLID) != 0 ? count : count - 1;
+    }
+
+    private static int firstSearchIndex(int outside) {
+        return (outside & Tiles.FLAG_SOLID) != 0 ? -1 : 0;
+    }
+
+    private int floorDiv(float value) {
+        return (int) Math.floor(value / tileSize);
+    }
+
+    private int ceilDiv(float value) {
+        return (int) Math.ceil(value / tileSize);
+    }
+}
@@ -0,0 +1,86 @@
+package com.anthony.platformer;
+
+/**
+ * Tile ids, the layout characters that produce them, and what each id means to the game.
+ *
+ * Ask "what is this tile" with one table load and a mask:
+ * {@code (Tiles.flags(id) & Tiles.FLAG_SOLID) != 0}.
+ */
+public final class Tiles {
+
+    private Tiles() {}
+
+    // -------- Tile ids (stored as bytes in Level) --------
+
+    public static final int EMPTY = 0;
+    public static final int GRASS = 1;
+    public static final int DOOR_RED = 2;
+    public static final int DOOR_AQUA = 3;
+    public static final int DIRT = 4;
+    public static final int RIGHT_TOP_GRASS = 5;
+    public static final int LEFT_TOP_GRASS = 6;
+    public static final int LEFT_DIRT = 7;
+    public static final int RIGHT_DIRT = 8;
+    public static final int BOTTOM_DIRT = 9;
+    public static final int RIGHT_BOTTOM_DIRT = 10;
+    public static final int LEFT_BOTTOM_DIRT = 11;
+    public static final int ROUNDED_GRASS = 12;
+    public static final int ROUNDED_GRASS_FLIP = 13;
+    public static final int ENEMY_SPAWN = 20;
+
+    // Ids are < ID_COUNT, so per-id tables can be plain arrays
+    public static final int ID_COUNT = 32;
+
+    // -------- Flags --------
+
+    public static final int FLAG_SOLID = 1;
+    public static final int FLAG_DOOR_RED = 1 << 1;
+    public static final int FLAG_DOOR_AQUA = 1 << 2;
+    public static final int FLAG_SPAWN = 1 << 3;
+
+    public static final int FLAG_DOOR = FLAG_DOOR_RED | FLAG_DOOR_AQUA;
+
+    private static final byte[] FLAGS = new byte[ID_COUNT];
+    private static final byte[] CHAR_TO_ID = new byte[128];
+
+    static {
+        FLAGS[GRASS] = FLAG_SOLID;
+        FLAGS[RIGHT_TOP_GRASS] = FLAG_SOLID;
+        FLAGS[LEFT_TOP_GRASS] = FLAG_SOLID;
+        FLAGS[LEFT_DIRT] = FLAG_SOLID;
+        FLAGS[DOOR_RED] = FLAG_DOOR_RED;
+        FLAGS[DOOR_AQUA] = FLAG_DOOR_AQUA;
+        FLAGS[ENEMY_SPAWN] = FLAG_SPAWN;
+
+        // Anything not listed is empty
+        CHAR_TO_ID['#'] = GRASS;
+        CHAR_TO_ID['d'] = DIRT;
+        CHAR_TO_ID['r'] = RIGHT_TOP_GRASS;
+        CHAR_TO_ID['l'] = LEFT_TOP_GRASS;
+        CHAR_TO_ID['s'] = LEFT_DIRT;
+        CHAR_TO_ID['f'] = RIGHT_DIRT;
+        CHAR_TO_ID['b'] = BOTTOM_DIRT;
+        CHAR_TO_ID['q'] = RIGHT_BOTTOM_DIRT;
+        CHAR_TO_ID['w'] = LEFT_BOTTOM_DIRT;
+        CHAR_TO_ID['y'] = ROUNDED_GRASS;
+        CHAR_TO_ID['t'] = ROUNDED_GRASS_FLIP;
+        CHAR_TO_ID['?'] = DOOR_RED;
+        CHAR_TO_ID['>'] = DOOR_AQUA;
+        CHAR_TO_ID['e'] = ENEMY_SPAWN;
+    }
+
+    public static int flags(int id) {
+        return FLAGS[id];
+    }
+
+    public static boolean is(int id, int flag) {
+        return (FLAGS[id] & flag) != 0;
+    }
+
+    public static int fromChar(char c) {
+        if (c >= CHAR_TO_ID.length) {
+            return EMPTY;
+        }
+        return CHAR_TO_ID[c];
+    }
+}
@@ -0,0 +1,11 @@
+package com.anthony.platformer;
+
+/**
+ * Told when the player starts or stops touching a door in the current level.
+ * Enter fires before World acts on the door (level transition).
+ */
+public interface TriggerListener {
+    void onTriggerEnter(DoorTrigger trigger);
+
+    void onTriggerExit(DoorTrigger trigger);
+}
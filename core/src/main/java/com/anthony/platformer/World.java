@@ -0,0 +1,1318 @@
+package com.anthony.platformer;
+
+import com.anthony.platformer.data.GameConfig;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * All of the game logic (player, enemies, combat, doors) with no graphics in it.
+ * PlatformerGame feeds it an InputState once per tick and draws whatever is in here;
+ * headless runs (CI soak tests, benchmarks) can drive it without a GL context.
+ */
+public class World {
+
+    // ---------------- ANIMATION TIMING ----------------
+    // The simulation needs to know how long these animations run (attack end, death removal).
+    // PlatformerGame builds its Animations from the same numbers.
+    public static final float WALK_FRAME_SECONDS = 0.10f;
+    public static final float ATTACK_FRAME_SECONDS = 0.08f;
+    public static final int PLAYER_ATTACK_FRAMES = 4;
+
+    public static final float DEATH_FRAME_SECONDS = 0.10f;
+    public static final int ENEMY_DEATH_FRAMES = 5;
+
+    // ---------------- SWORD TUNING ----------------
+    private static final float SWORD_WIDTH = 14f;
+    private static final float SWORD_HEIGHT = 10f;
+    private static final float SWORD_FORWARD_OFFSET = 10f;
+    private static final float SWORD_VERTICAL_OFFSET = 4f;
+
+    private static final float ENEMY_SWORD_WIDTH = 14f;
+    private static final float ENEMY_SWORD_HEIGHT = 10f;
+    private static final float ENEMY_SWORD_FORWARD_OFFSET = 6f;
+    private static final float ENEMY_SWORD_VERTICAL_OFFSET = 4f;
+
+    // ---------------- PLAYER DAMAGE COOLDOWNS ----------------
+    private static final float PLAYER_GLOBAL_HURT_LOCK = 0.15f;
+    private static final float PLAYER_BODY_HURT_COOLDOWN = 0.60f;
+    private static final float PLAYER_SWORD_HURT_COOLDOWN = 0.40f;
+
+    // ---------------- HIT REACTION (PLAYER) ----------------
+    private static final float PLAYER_STUN_DURATION = 0.12f;
+    private static final float PLAYER_KNOCKBACK_SPEED = 260f;
+    private static final float PLAYER_KNOCKBACK_FRICTION = 1600f;
+
+    // ---------------- HIT REACTION (ENEMY) ----------------
+    private static final float ENEMY_STUN_DURATION = 0.10f;
+    private static final float ENEMY_KNOCKBACK_SPEED = 220f;
+    private static final float ENEMY_KNOCKBACK_FRICTION = 1400f;
+
+    // Enemy gravity can match player gravity
+    private static final float ENEMY_GRAVITY = -800f;
+    private static final float ENEMY_TERMINAL_VEL = -900f;
+
+    private static final float ENEMY_ATTACK_RANGE = 40f;
+
+    // ---------------- TILE & WORLD SETTINGS ----------------
+
+    // Enemy spawns are the 'e' tiles in Levels.LEVEL_X (Tiles.ENEMY_SPAWN)
+
+    private Level currentLevel;
+
+    private int worldWidthPixels;
+    private int worldHeightPixels;
+
+    private int currentLevelNumber = 1;
+
+    // Door triggers the player overlaps this tick / last tick (ids into currentLevel.getTriggers())
+    private IntArray touchingTriggers = new IntArray();
+    private IntArray touchingTriggersLastFrame = new IntArray();
+    private TriggerListener triggerListener;
+
+    // Level graph (ids, sources, door routing) and the cache/preloader that builds levels from it
+    private final LevelRegistry registry;
+    private final LevelLoader levelLoader;
+    private final IntArray doorTargets = new IntArray();
+
+    private float enemyWidth = GameConfig.ENEMY_WIDTH;
+    private float enemyHeight = GameConfig.ENEMY_HEIGHT;
+
+    // ---------------- ENTITIES ----------------
+    private final Player player = new Player();
+    private final EnemyStore enemies = new EnemyStore();
+
+    // ---------------- COMBAT BROADPHASE ----------------
+    // Live enemies (hurtbox + sword), rebuilt every tick after the hitbox phase
+    private final SpatialHash combatHash = new SpatialHash(GameConfig.COMBAT_CELL_TILES * GameConfig.TILE_SIZE);
+    private final IntArray nearbyEnemies = new IntArray();
+
+    // Tile collision for the player and every enemy
+    private final TileCollider collider = new TileCollider();
+
+    // ---------------- PARALLEL ENEMY UPDATE ----------------
+    // At or above this many awake enemies the per-enemy phase is split across the common ForkJoin pool
+    private int parallelEnemyThreshold = GameConfig.ENEMY_PARALLEL_THRESHOLD;
+
+    // Sweep results are per call, so every pool thread needs its own collider
+    private final ThreadLocal<TileCollider> workerColliders = ThreadLocal.withInitial(TileCollider::new);
+
+    // Enemy activity tiers are measured from this rectangle: the game's camera view if it sets one
+    // (setView), else a viewport-sized box centered on the player
+    private float viewLeft;
+    private float viewBottom;
+    private float viewRight;
+    private float viewTop;
+    private boolean hasView = false;
+
+    // Next sleeper to check for proximity (round-robin over the sleeping slots)
+    private int sleepCheckCursor = 0;
+
+    private boolean wasJumpDownLastFrame = false;
+    private boolean wasAttackDownLastFrame = false;
+
+    private long tickCount = 0L;
+
+    // Phase timers for step(); OFF (no timing) unless the game attaches one
+    private FrameProfiler profiler = FrameProfiler.OFF;
+
+    public World() {
+        this(1);
+    }
+
+    public World(int levelNumber) {
+        this(LevelRegistry.createDefault(), levelNumber);
+    }
+
+    public World(LevelRegistry registry, int levelNumber) {
+        this.registry = registry;
+        this.levelLoader = new LevelLoader(registry, GameConfig.LEVEL_CACHE_SIZE);
+
+        player.attackDurationSeconds = PLAYER_ATTACK_FRAMES * ATTACK_FRAME_SECONDS;
+        loadLevel(levelNumber);
+    }
+
+    // -------- Getters --------
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public EnemyStore getEnemies() {
+        return enemies;
+    }
+
+    public Level getLevel() {
+        return currentLevel;
+    }
+
+    public int getCurrentLevelNumber() {
+        return currentLevelNumber;
+    }
+
+    public int getWorldWidthPixels() {
+        return worldWidthPixels;
+    }
+
+    public int getWorldHeightPixels() {
+        return worldHeightPixels;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public LevelLoader getLevelLoader() {
+        return levelLoader;
+    }
+
+    public LevelRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Stops the preload thread and releases every cached level. Don't step after this.
+     */
+    public void dispose() {
+        levelLoader.dispose();
+    }
+
+    public int getParallelEnemyThreshold() {
+        return parallelEnemyThreshold;
+    }
+
+    /**
+     * Awake enemy count at which updateEnemies goes parallel; Integer.MAX_VALUE keeps it on one thread.
+     */
+    public void setParallelEnemyThreshold(int parallelEnemyThreshold) {
+        if (parallelEnemyThreshold < 1) {
+            throw new IllegalArgumentException("parallelEnemyThreshold must be at least 1: " + parallelEnemyThreshold);
+        }
+        this.parallelEnemyThreshold = parallelEnemyThreshold;
+    }
+
+    /**
+     * Times step()'s phases into {@code profiler}; null detaches it. Laps happen on whichever thread
+     * steps the world, so only attach one that thread owns.
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler != null ? profiler : FrameProfiler.OFF;
+    }
+
+    /**
+     * The visible world rectangle, for enemy activity tiers. Call whenever the camera moves.
+     */
+    public void setView(float left, float bottom, float right, float top) {
+        viewLeft = left;
+        viewBottom = bottom;
+        viewRight = right;
+        viewTop = top;
+        hasView = true;
+    }
+
+    // The view the activity tiers were last measured from (setView's, or the player-centered default)
+    public float getViewLeft() {
+        return viewLeft;
+    }
+
+    public float getViewBottom() {
+        return viewBottom;
+    }
+
+    public float getViewRight() {
+        return viewRight;
+    }
+
+    public float getViewTop() {
+        return viewTop;
+    }
+
+    /**
+     * Wakes every enemy within {@code radius} of (x, y) and keeps it at full rate for a while,
+     * wherever the view is. For events (combat, noise) rather than every tick: it looks at all enemies.
+     */
+    public void wakeEnemiesNear(float x, float y, float radius) {
+        float radiusSquared = radius * radius;
+
+        int i = 0;
+        while (i < enemies.size) {
+            float dx = enemies.centerX(i) - x;
+            float dy = enemies.y[i] + enemies.height[i] / 2f - y;
+
+            if (dx * dx + dy * dy <= radiusSquared) {
+                // Waking swaps in the first sleeper, which this loop has already looked at
+                int woken = i;
+                if (i >= enemies.awakeCount) {
+                    woken = enemies.wake(i, EnemyStore.ACTIVITY_FULL);
+                }
+                enemies.activity[woken] = EnemyStore.ACTIVITY_FULL;
+                enemies.wakeSeconds[woken] = GameConfig.ENEMY_ALERT_SECONDS;
+            }
+
+            i = i + 1;
+        }
+    }
+
+    public void setTriggerListener(TriggerListener triggerListener) {
+        this.triggerListener = triggerListener;
+    }
+
+    // ----------------------- TICK -----------------------
+
+    /**
+     * Advances the simulation by one tick.
+     *
+     * The hot phases below (enemy update, player moves, hitboxes, combat) are package-private so
+     * the JMH benchmarks, which live in this package, can time them one at a time.
+     */
+    public void step(float deltaTime, InputState input) {
+        FrameProfiler profiler = this.profiler;
+        long lapNanos = profiler.start();
+
+        streamLevelAroundPlayer();
+        updateEnemyActivity(deltaTime);
+
+        snapPreviousPositions();
+        lapNanos = profiler.lap(FrameProfiler.ACTIVITY, lapNanos);
+
+        player.isOnGround = false;
+
+        // Animation time
+        player.animTimeSeconds = player.animTimeSeconds + deltaTime;
+
+        updatePlayer(deltaTime, input);
+        lapNanos = profiler.lap(FrameProfiler.PLAYER, lapNanos);
+
+        updateEnemies(deltaTime);
+        lapNanos = profiler.lap(FrameProfiler.ENEMIES, lapNanos);
+
+        updatePlayerHurtbox();
+        updatePlayerSwordHitbox();
+        updateEnemyHitboxes();
+        rebuildCombatHash();
+        lapNanos = profiler.lap(FrameProfiler.HITBOXES, lapNanos);
+
+        handlePlayerSwordHits();
+        lapNanos = profiler.lap(FrameProfiler.PLAYER_SWORD_HITS, lapNanos);
+
+        handleEnemySwordHitsPlayer();
+        lapNanos = profiler.lap(FrameProfiler.ENEMY_SWORD_HITS, lapNanos);
+
+        handleEnemyBodyHitsPlayer();
+        lapNanos = profiler.lap(FrameProfiler.ENEMY_BODY_HITS, lapNanos);
+
+        // Death locks the player animation clock back to the start of the death clip
+        if (player.isDead() && !player.deathStarted) {
+            player.deathStarted = true;
+            player.animTimeSeconds = 0f;
+        }
+
+        removeEnemiesThatFinishedDeath();
+        profiler.lap(FrameProfiler.CLEANUP, lapNanos);
+
+        tickCount = tickCount + 1;
+    }
+
+    private void snapPreviousPositions() {
+        player.snapPrevious();
+
+        // Sleepers don't move (and were snapped when they fell asleep)
+        int i = 0;
+        while (i < enemies.awakeCount) {
+            enemies.snapPrevious(i);
+            i = i + 1;
+        }
+    }
+
+    // ----------------------- LEVEL BUILDING -----------------------
+    public void loadLevel(int levelNumber) {
+        // Cached if we've been here recently, preloaded if a door leads here, else loaded now
+        setLevel(levelLoader.get(levelNumber), levelNumber);
+    }
+
+    /**
+     * Swaps in a level. Levels from loadLevel belong to the level cache; one built somewhere else
+     * (generated maps, tests) stays the caller's to close. Door targets come from the registry
+     * entry for {@code levelNumber}, if there is one.
+     */
+    public void setLevel(Level level, int levelNumber) {
+        currentLevel = level;
+        currentLevelNumber = levelNumber;
+        collider.setLevel(level);
+        applyCurrentLevelSettings();
+    }
+
+    private void applyCurrentLevelSettings() {
+        worldWidthPixels = currentLevel.getCols() * GameConfig.TILE_SIZE;
+        worldHeightPixels = currentLevel.getRows() * GameConfig.TILE_SIZE;
+
+        player.x = currentLevel.getSpawnX();
+        player.y = currentLevel.getSpawnY();
+        player.velocityY = 0f;
+        // Teleport, don't slide across the screen from the old level's position
+        player.snapPrevious();
+
+        buildEnemiesFromLevel();
+
+        LevelInfo info = registry.contains(currentLevelNumber) ? registry.get(currentLevelNumber) : null;
+
+        List<DoorTrigger> triggers = currentLevel.getTriggers();
+        doorTargets.clear();
+        int t = 0;
+        while (t < triggers.size()) {
+            DoorTrigger trigger = triggers.get(t);
+            trigger.targetLevel = info != null ? info.getDoorTarget(trigger.type) : -1;
+            if (trigger.targetLevel > 0 && !doorTargets.contains(trigger.targetLevel)) {
+                doorTargets.add(trigger.targetLevel);
+            }
+            t = t + 1;
+        }
+
+        // Get the next levels ready before the player reaches a door
+        levelLoader.preload(doorTargets);
+
+        // Standing on a door at spawn shouldn't send you straight back
+        currentLevel.queryTriggers(player.x, player.y, player.width, player.height, touchingTriggersLastFrame);
+    }
+
+    /**
+     * Streamed levels: install chunks the reader finished and queue the ones around the player,
+     * so collision this tick (and the next few) finds its tiles resident.
+     */
+    private void streamLevelAroundPlayer() {
+        ChunkedTiles streamed = currentLevel.getStreamedTiles();
+        if (streamed == null) {
+            return;
+        }
+
+        streamed.update();
+
+        int col = (int) (player.centerX() / GameConfig.TILE_SIZE);
+        int row = (int) ((player.y + player.height / 2f) / GameConfig.TILE_SIZE);
+        streamed.prefetchAround(col, row, GameConfig.STREAM_PREFETCH_RADIUS_CHUNKS);
+    }
+
+    private void buildEnemiesFromLevel() {
+        enemies.clear();
+
+        // Ground and patrol bounds were resolved when the level was built: no column walks here
+        List<EnemySpawn> spawns = currentLevel.getEnemySpawns();
+
+        int n = 0;
+        while (n < spawns.size()) {
+            EnemySpawn spawn = spawns.get(n);
+
+            // place enemy standing on the ground tile
+            int i = enemies.obtain(spawn.x, spawn.groundY, enemyWidth, enemyHeight);
+            enemies.homeGroundY[i] = spawn.groundY;
+            enemies.segment[i] = spawn.segment;
+
+            enemies.patrolLeftX[i] = spawn.patrolLeftX;
+            enemies.patrolRightX[i] = spawn.patrolRightX;
+
+            enemies.moveDir[i] = 1;
+
+            n = n + 1;
+        }
+    }
+
+    private boolean isPlayerOnSamePlatformAsEnemy(int i) {
+        // If player is in the air, don't let enemies "platform-hop" chase
+        if (!player.isOnGround) {
+            return false;
+        }
+
+        // If enemy somehow isn't grounded, also don't chase
+        if (!enemies.isOnGround[i]) {
+            return false;
+        }
+
+        // Both standing on known platforms: same segment or not, no guessing
+        if (currentLevel.getPlatforms() != null) {
+            return player.segment >= 0 && player.segment == enemies.segment[i];
+        }
+
+        // Streamed level (no platform graph): close enough in height counts
+        float tolerance = GameConfig.TILE_SIZE * 1.5f; // tune if needed
+        float dy = Math.abs(player.y - enemies.homeGroundY[i]);
+
+        return dy <= tolerance;
+    }
+
+
+    // ----------------------- ENEMY ACTIVITY -----------------------
+
+    /**
+     * Sorts awake enemies into full rate / reduced rate / asleep by how far they are from the view,
+     * and wakes a round-robin slice of the sleepers that have come close. Costs the awake enemies
+     * plus about sleepers / ENEMY_SLEEP_CHECK_TICKS per tick, not the whole level.
+     */
+    private void updateEnemyActivity(float deltaTime) {
+        if (!hasView) {
+            // No camera (headless): assume a default-sized view centered on the player
+            float centerY = player.y + player.height / 2f;
+            viewLeft = player.centerX() - GameConfig.VIEWPORT_WIDTH / 2f;
+            viewRight = player.centerX() + GameConfig.VIEWPORT_WIDTH / 2f;
+            viewBottom = centerY - GameConfig.VIEWPORT_HEIGHT / 2f;
+            viewTop = centerY + GameConfig.VIEWPORT_HEIGHT / 2f;
+        }
+
+        float fullMargin = GameConfig.ENEMY_FULL_MARGIN_TILES * GameConfig.TILE_SIZE;
+        float reducedMargin = GameConfig.ENEMY_REDUCED_MARGIN_TILES * GameConfig.TILE_SIZE;
+
+        int i = 0;
+        while (i < enemies.awakeCount) {
+            if (enemies.wakeSeconds[i] > 0f) {
+                enemies.wakeSeconds[i] = enemies.wakeSeconds[i] - deltaTime;
+                enemies.activity[i] = EnemyStore.ACTIVITY_FULL;
+                i = i + 1;
+                continue;
+            }
+
+            float distance = distanceToView(i);
+
+            if (distance <= fullMargin) {
+                enemies.activity[i] = EnemyStore.ACTIVITY_FULL;
+            } else if (distance <= reducedMargin || enemies.isDead[i]) {
+                // Dead ones stay awake until their death animation is done and they're removed
+                enemies.activity[i] = EnemyStore.ACTIVITY_REDUCED;
+            } else {
+                enemies.snapPrevious(i);
+                enemies.sleep(i);
+                // The last awake enemy moved into slot i; look at it next
+                continue;
+            }
+
+            i = i + 1;
+        }
+
+        int sleepers = enemies.size - enemies.awakeCount;
+        int checks = (sleepers + GameConfig.ENEMY_SLEEP_CHECK_TICKS - 1) / GameConfig.ENEMY_SLEEP_CHECK_TICKS;
+
+        while (checks > 0) {
+            if (sleepCheckCursor < enemies.awakeCount || sleepCheckCursor >= enemies.size) {
+                sleepCheckCursor = enemies.awakeCount;
+            }
+
+            if (distanceToView(sleepCheckCursor) <= reducedMargin) {
+                // Back in at reduced rate; the next pass promotes it if it's closer than that
+                enemies.wake(sleepCheckCursor, EnemyStore.ACTIVITY_REDUCED);
+            }
+
+            sleepCheckCursor = sleepCheckCursor + 1;
+            checks = checks - 1;
+        }
+    }
+
+    /**
+     * Gap between enemy {@code i}'s box and the view rectangle (0 if they overlap), the larger axis.
+     */
+    private float distanceToView(int i) {
+        float dx = Math.max(0f, Math.max(viewLeft - (enemies.x[i] + enemies.width[i]), enemies.x[i] - viewRight));
+        float dy = Math.max(0f, Math.max(viewBottom - (enemies.y[i] + enemies.height[i]), enemies.y[i] - viewTop));
+        return Math.max(dx, dy);
+    }
+
+    // ----------------------- UPDATE LOGIC -----------------------
+
+    /**
+     * Every awake enemy's gravity, timers and AI. Each enemy only writes its own slot and reads the
+     * level and the player, neither of which changes during this phase, so big arenas split the slots
+     * into batches on the ForkJoin pool. Anything that touches two entities (combat, removal, waking)
+     * runs afterwards on this thread, in slot order, so the result is the same either way.
+     *
+     * Streamed levels stay on one thread: reading their tiles can load and evict chunks.
+     */
+    void updateEnemies(float deltaTime) {
+        int count = enemies.awakeCount;
+
+        if (count >= parallelEnemyThreshold && !currentLevel.isStreamed()) {
+            ForkJoinPool.commonPool().invoke(new EnemyBatch(0, count, deltaTime));
+        } else {
+            updateEnemyRange(collider, 0, count, deltaTime);
+        }
+    }
+
+    /**
+     * Splits [from, to) in halves down to ENEMY_PARALLEL_BATCH slots, then updates each batch.
+     */
+    private class EnemyBatch extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final float deltaTime;
+
+        EnemyBatch(int from, int to, float deltaTime) {
+            this.from = from;
+            this.to = to;
+            this.deltaTime = deltaTime;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GameConfig.ENEMY_PARALLEL_BATCH) {
+                TileCollider workerCollider = workerColliders.get();
+                workerCollider.setLevel(currentLevel);
+                updateEnemyRange(workerCollider, from, to, deltaTime);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new EnemyBatch(from, middle, deltaTime), new EnemyBatch(middle, to, deltaTime));
+        }
+    }
+
+    /**
+     * updateEnemies for slots from..to-1, sweeping with {@code collider}.
+     */
+    private void updateEnemyRange(TileCollider collider, int from, int to, float deltaTime) {
+        float enemyDeathDurationSeconds = ENEMY_DEATH_FRAMES * DEATH_FRAME_SECONDS;
+        float reducedStepSeconds = GameConfig.ENEMY_REDUCED_STEP_TICKS * deltaTime;
+
+        // ---------------- ENEMY GRAVITY ----------------
+        // One pass over every awake, live enemy (dead ones stay put); off the map is solid for enemies.
+        // Cheap enough to run at full rate for every tier, and resting enemies skip it anyway.
+        collider.fall(enemies.x, enemies.y, enemies.width, enemies.height, enemies.velocityY, enemies.isOnGround,
+            enemies.isDead, from, to, ENEMY_GRAVITY, ENEMY_TERMINAL_VEL, deltaTime, Tiles.FLAG_SOLID);
+
+        int i = from;
+        while (i < to) {
+            float enemyDeltaTime = deltaTime;
+            boolean coarse = false;
+
+            if (enemies.activity[i] == EnemyStore.ACTIVITY_REDUCED) {
+                // Off screen: bank the time and catch up in one bigger step every few ticks
+                enemies.pendingSeconds[i] = enemies.pendingSeconds[i] + deltaTime;
+                if (enemies.pendingSeconds[i] < reducedStepSeconds) {
+                    i = i + 1;
+                    continue;
+                }
+
+                enemyDeltaTime = enemies.pendingSeconds[i];
+                enemies.pendingSeconds[i] = 0f;
+                coarse = true;
+            } else if (enemies.pendingSeconds[i] > 0f) {
+                // Just promoted: fold in whatever was banked
+                enemyDeltaTime = enemyDeltaTime + enemies.pendingSeconds[i];
+                enemies.pendingSeconds[i] = 0f;
+            }
+
+            updateEnemy(collider, i, enemyDeltaTime, coarse, enemyDeathDurationSeconds);
+
+            i = i + 1;
+        }
+    }
+
+    /**
+     * One enemy's timers, knockback, attack and movement. {@code coarse} (reduced tier, out of view)
+     * just patrols: no new attacks, no chasing.
+     */
+    private void updateEnemy(TileCollider collider, int i, float deltaTime, boolean coarse, float enemyDeathDurationSeconds) {
+        // Always advance animation time (even while dead, for death playback)
+        enemies.animTimeSeconds[i] = enemies.animTimeSeconds[i] + deltaTime;
+
+        // If dead: do nothing else (death animation plays via animTimeSeconds)
+        if (enemies.isDead[i]) {
+            enemies.deathStarted[i] = true;
+            if (enemies.animTimeSeconds[i] >= enemyDeathDurationSeconds) {
+                enemies.readyToRemove[i] = true;
+            }
+            return;
+        }
+
+        // Stun timer
+        if (enemies.stunSeconds[i] > 0f) {
+            enemies.stunSeconds[i] = enemies.stunSeconds[i] - deltaTime;
+            if (enemies.stunSeconds[i] < 0f) {
+                enemies.stunSeconds[i] = 0f;
+            }
+        }
+
+        // Knockback (stops dead against walls and the world edges, which are solid for enemies)
+        if (enemies.knockbackVelX[i] != 0f) {
+            float dx = enemies.knockbackVelX[i] * deltaTime;
+            if (collider.sweepX(enemies.x[i], enemies.y[i], enemies.width[i], enemies.height[i], dx, Tiles.FLAG_SOLID)) {
+                enemies.knockbackVelX[i] = 0f;
+            }
+            enemies.x[i] = collider.position;
+
+            if (enemies.knockbackVelX[i] > 0f) {
+                enemies.knockbackVelX[i] = enemies.knockbackVelX[i] - ENEMY_KNOCKBACK_FRICTION * deltaTime;
+                if (enemies.knockbackVelX[i] < 0f) {
+                    enemies.knockbackVelX[i] = 0f;
+                }
+            } else {
+                enemies.knockbackVelX[i] = enemies.knockbackVelX[i] + ENEMY_KNOCKBACK_FRICTION * deltaTime;
+                if (enemies.knockbackVelX[i] > 0f) {
+                    enemies.knockbackVelX[i] = 0f;
+                }
+            }
+        }
+
+        boolean enemyStunned = enemies.stunSeconds[i] > 0f;
+
+        // Cooldown tick
+        if (enemies.attackCooldownSeconds[i] > 0f) {
+            enemies.attackCooldownSeconds[i] = enemies.attackCooldownSeconds[i] - deltaTime;
+            if (enemies.attackCooldownSeconds[i] < 0f) {
+                enemies.attackCooldownSeconds[i] = 0f;
+            }
+        }
+
+        // Attack tick
+        if (enemies.isAttacking[i]) {
+            enemies.attackTimeSeconds[i] = enemies.attackTimeSeconds[i] + deltaTime;
+
+            if (enemies.attackTimeSeconds[i] >= enemies.attackDurationSeconds[i]) {
+                enemies.isAttacking[i] = false;
+                enemies.attackTimeSeconds[i] = 0f;
+                enemies.attackCooldownSeconds[i] = enemies.attackCooldownDurationSeconds[i];
+            }
+        }
+
+        // Start attack if close, not stunned (never off screen: the player can't be that close)
+        if (!coarse && !enemyStunned && !enemies.isAttacking[i] && enemies.attackCooldownSeconds[i] == 0f) {
+            float enemyCenterX = enemies.x[i] + enemies.width[i] / 2f;
+            float playerCenterX = player.centerX();
+
+            float absDistanceX = Math.abs(enemyCenterX - playerCenterX);
+
+            if (absDistanceX <= ENEMY_ATTACK_RANGE) {
+                enemies.isAttacking[i] = true;
+                enemies.attackTimeSeconds[i] = 0f;
+                enemies.facingRight[i] = playerCenterX > enemyCenterX;
+            }
+        }
+        // After knockback, so the AI sees the platform it's really on
+        enemies.segment[i] = findSegmentUnder(enemies.x[i], enemies.width[i], enemies.y[i], enemies.isOnGround[i]);
+
+        updateEnemyMovementAI(collider, i, deltaTime, coarse);
+    }
+
+    private void removeEnemiesThatFinishedDeath() {
+        // Dead enemies never fall asleep, so only the awake slots can hold one
+        int i = 0;
+        while (i < enemies.awakeCount) {
+            if (enemies.isDead[i] && enemies.readyToRemove[i]) {
+                // Swap-remove: another enemy moves into slot i, so check slot i again
+                enemies.remove(i);
+                continue;
+            }
+
+            i = i + 1;
+        }
+    }
+
+    private void updatePlayer(float deltaTime, InputState input) {
+        float deltaX = 0f;
+        player.isMoving = false;
+
+        // cooldown timers
+        if (player.hurtCooldownSeconds > 0f) {
+            player.hurtCooldownSeconds = player.hurtCooldownSeconds - deltaTime;
+            if (player.hurtCooldownSeconds < 0f) {
+                player.hurtCooldownSeconds = 0f;
+            }
+        }
+
+        if (player.globalHurtLockSeconds > 0f) {
+            player.globalHurtLockSeconds = player.globalHurtLockSeconds - deltaTime;
+            if (player.globalHurtLockSeconds < 0f) {
+                player.globalHurtLockSeconds = 0f;
+            }
+        }
+
+        if (player.bodyHurtCooldownSeconds > 0f) {
+            player.bodyHurtCooldownSeconds = player.bodyHurtCooldownSeconds - deltaTime;
+            if (player.bodyHurtCooldownSeconds < 0f) {
+                player.bodyHurtCooldownSeconds = 0f;
+            }
+        }
+
+        if (player.swordHurtCooldownSeconds > 0f) {
+            player.swordHurtCooldownSeconds = player.swordHurtCooldownSeconds - deltaTime;
+            if (player.swordHurtCooldownSeconds < 0f) {
+                player.swordHurtCooldownSeconds = 0f;
+            }
+        }
+
+        // stun timer
+        if (player.stunSeconds > 0f) {
+            player.stunSeconds = player.stunSeconds - deltaTime;
+            if (player.stunSeconds < 0f) {
+                player.stunSeconds = 0f;
+            }
+        }
+
+        // Apply knockback
+        if (player.knockbackVelX != 0f) {
+            float dx = player.knockbackVelX * deltaTime;
+            moveHorizontal(dx);
+
+            if (player.knockbackVelX > 0f) {
+                player.knockbackVelX = player.knockbackVelX - PLAYER_KNOCKBACK_FRICTION * deltaTime;
+                if (player.knockbackVelX < 0f) {
+                    player.knockbackVelX = 0f;
+                }
+            } else {
+                player.knockbackVelX = player.knockbackVelX + PLAYER_KNOCKBACK_FRICTION * deltaTime;
+                if (player.knockbackVelX > 0f) {
+                    player.knockbackVelX = 0f;
+                }
+            }
+        }
+
+        boolean dead = player.isDead();
+        boolean stunned = player.stunSeconds > 0f;
+
+        // If dead: no input, but still fall with gravity
+        if (!dead && !stunned) {
+            boolean leftPressed = input.left;
+            boolean rightPressed = input.right;
+
+            if (leftPressed && !rightPressed) {
+                player.facingRight = false;
+                player.isMoving = true;
+                deltaX = deltaX - player.moveSpeed * deltaTime;
+            }
+
+            if (rightPressed && !leftPressed) {
+                player.facingRight = true;
+                player.isMoving = true;
+                deltaX = deltaX + player.moveSpeed * deltaTime;
+            }
+
+            if (deltaX != 0f) {
+                moveHorizontal(deltaX);
+            }
+
+            boolean jumpPressedThisFrame = input.jump && !wasJumpDownLastFrame;
+            boolean attackPressedThisFrame = input.attack && !wasAttackDownLastFrame;
+
+            wasJumpDownLastFrame = input.jump;
+            wasAttackDownLastFrame = input.attack;
+
+            handleJumpInput(jumpPressedThisFrame);
+            handleAttackInput(deltaTime, attackPressedThisFrame);
+        } else {
+            // If dead or stunned, stop starting new attacks
+            wasJumpDownLastFrame = false;
+            wasAttackDownLastFrame = false;
+        }
+
+        // Gravity always applies
+        player.velocityY = player.velocityY + GameConfig.GRAVITY * deltaTime;
+
+        float deltaY = player.velocityY * deltaTime;
+        if (deltaY != 0f) {
+            moveVertical(deltaY);
+        }
+
+        if (player.x < 0f) {
+            player.x = 0f;
+        }
+        if (player.x + player.width > worldWidthPixels) {
+            player.x = worldWidthPixels - player.width;
+        }
+
+        if (player.y < 0f) {
+            player.y = 0f;
+            player.velocityY = 0f;
+            player.isOnGround = true;
+            player.jumpsUsed = 0;
+        }
+
+        player.segment = findSegmentUnder(player.x, player.width, player.y, player.isOnGround);
+
+        updateDoorTriggers();
+    }
+
+    private void updateDoorTriggers() {
+        currentLevel.queryTriggers(player.x, player.y, player.width, player.height, touchingTriggers);
+
+        List<DoorTrigger> triggers = currentLevel.getTriggers();
+
+        // Exits first, so a listener sees exit-then-enter when the player steps between two doors
+        int n = 0;
+        while (n < touchingTriggersLastFrame.size) {
+            int id = touchingTriggersLastFrame.items[n];
+            if (!touchingTriggers.contains(id) && triggerListener != null) {
+                triggerListener.onTriggerExit(triggers.get(id));
+            }
+            n = n + 1;
+        }
+
+        // Swap buffers: this tick becomes last tick
+        IntArray entered = touchingTriggersLastFrame;
+        touchingTriggersLastFrame = touchingTriggers;
+        touchingTriggers = entered;
+
+        n = 0;
+        while (n < touchingTriggersLastFrame.size) {
+            int id = touchingTriggersLastFrame.items[n];
+            n = n + 1;
+
+            if (touchingTriggers.contains(id)) {
+                continue;
+            }
+
+            DoorTrigger trigger = triggers.get(id);
+            if (triggerListener != null) {
+                triggerListener.onTriggerEnter(trigger);
+            }
+
+            if (trigger.targetLevel > 0) {
+                // Loading the next level resets the trigger state, so stop here
+                loadLevel(trigger.targetLevel);
+                return;
+            }
+        }
+    }
+
+    void handleEnemyBodyHitsPlayer() {
+        if (player.globalHurtLockSeconds > 0f) {
+            return;
+        }
+        if (player.bodyHurtCooldownSeconds > 0f) {
+            return;
+        }
+
+        Rectangle hurtbox = player.hurtbox;
+        combatHash.query(hurtbox.x, hurtbox.y, hurtbox.width, hurtbox.height, nearbyEnemies);
+
+        int n = 0;
+        while (n < nearbyEnemies.size) {
+            int i = nearbyEnemies.items[n];
+            n = n + 1;
+
+            if (enemies.isDead[i]) {
+                continue;
+            }
+
+            if (overlaps(player.hurtbox, enemies.x[i], enemies.y[i], enemies.width[i], enemies.height[i])) {
+                player.hp = player.hp - 1;
+
+                player.stunSeconds = PLAYER_STUN_DURATION;
+
+                float enemyCenterX = enemies.x[i] + enemies.width[i] / 2f;
+                float playerCenterX = player.centerX();
+
+                if (playerCenterX < enemyCenterX) {
+                    player.knockbackVelX = -PLAYER_KNOCKBACK_SPEED;
+                } else {
+                    player.knockbackVelX = PLAYER_KNOCKBACK_SPEED;
+                }
+
+                player.globalHurtLockSeconds = PLAYER_GLOBAL_HURT_LOCK;
+                player.bodyHurtCooldownSeconds = PLAYER_BODY_HURT_COOLDOWN;
+
+                return;
+            }
+        }
+    }
+
+    private void handleJumpInput(boolean jumpPressedThisFrame) {
+        if (jumpPressedThisFrame) {
+            if (player.jumpsUsed < player.maxJumps) {
+                player.velocityY = player.jumpVelocity;
+                player.jumpsUsed = player.jumpsUsed + 1;
+                player.isOnGround = false;
+            }
+        }
+    }
+
+    private void handleAttackInput(float deltaTime, boolean attackPressedThisFrame) {
+        if (attackPressedThisFrame && !player.isAttacking) {
+            player.isAttacking = true;
+            player.attackTimeSeconds = 0f;
+
+            // Sleepers are reset when they wake
+            int i = 0;
+            while (i < enemies.awakeCount) {
+                enemies.wasHitThisAttack[i] = false;
+                i = i + 1;
+            }
+        }
+
+        if (player.isAttacking) {
+            player.attackTimeSeconds = player.attackTimeSeconds + deltaTime;
+
+            if (player.attackTimeSeconds >= player.attackDurationSeconds) {
+                player.isAttacking = false;
+                player.attackTimeSeconds = 0f;
+            }
+        }
+    }
+
+    void moveHorizontal(float deltaX) {
+        // Off the map isn't solid for the player; the world-bounds clamp handles the edges
+        collider.sweepX(player.x, player.y, player.width, player.height, deltaX, 0);
+        player.x = collider.position;
+    }
+
+    void moveVertical(float deltaY) {
+        player.isOnGround = false;
+
+        collider.sweepY(player.x, player.y, player.width, player.height, deltaY, 0);
+        player.y = collider.position;
+
+        if (collider.hit) {
+            // Ceiling or ground, either way the vertical speed is gone
+            player.velocityY = 0f;
+
+            if (collider.normalY > 0) {
+                player.isOnGround = true;
+                player.jumpsUsed = 0;
+            }
+        }
+    }
+
+    private boolean enemyWouldCollideAtX(TileCollider collider, int i, float newX) {
+        return collider.sweepX(enemies.x[i], enemies.y[i], enemies.width[i], enemies.height[i],
+            newX - enemies.x[i], Tiles.FLAG_SOLID);
+    }
+
+    private int findSegmentUnder(float x, float width, float feetY, boolean onGround) {
+        PlatformGraph platforms = currentLevel.getPlatforms();
+        if (!onGround || platforms == null) {
+            return -1;
+        }
+        return platforms.findSegmentUnder(x, width, feetY);
+    }
+
+    /**
+     * Ledge or wall one pixel ahead. On a platform segment that's just "does the next column leave
+     * the segment" (segments have a tile of headroom, an enemy's height); otherwise (airborne,
+     * streamed level) the tiles are probed.
+     */
+    private boolean isEnemyBlockedAhead(TileCollider collider, int i, int dir) {
+        if (enemies.segment[i] < 0) {
+            return !enemyHasGroundAhead(collider, i, dir) || enemyHasWallAhead(collider, i, dir);
+        }
+
+        float frontX;
+        if (dir > 0) {
+            frontX = enemies.x[i] + enemies.width[i] + 1f;
+        } else {
+            frontX = enemies.x[i] - 1f;
+        }
+
+        int frontCol = (int) (frontX / GameConfig.TILE_SIZE);
+        return !currentLevel.getPlatforms().get(enemies.segment[i]).containsCol(frontCol);
+    }
+
+    private boolean enemyHasGroundAhead(TileCollider collider, int i, int dir) {
+        // Look one pixel ahead of the enemy's front foot
+        float frontX;
+        if (dir > 0) {
+            frontX = enemies.x[i] + enemies.width[i] + 1f;
+        } else {
+            frontX = enemies.x[i] - 1f;
+        }
+
+        float footY = enemies.y[i] - 1f;
+
+        int tileX = (int) (frontX / GameConfig.TILE_SIZE);
+        int tileY = (int) (footY / GameConfig.TILE_SIZE);
+
+        // One cell, so a streamed level doesn't page in the column below. Off the map counts as
+        // ground, so enemies turn at the edge instead of walking off
+        return collider.isSolid(tileX, tileY, Tiles.FLAG_SOLID);
+    }
+
+    private boolean enemyHasWallAhead(TileCollider collider, int i, int dir) {
+        float frontX;
+        if (dir > 0) {
+            frontX = enemies.x[i] + enemies.width[i] + 1f;
+        } else {
+            frontX = enemies.x[i] - 1f;
+        }
+
+        int tileX = (int) (frontX / GameConfig.TILE_SIZE);
+
+        // Check along enemy vertical body
+        float bodyBottom = enemies.y[i] + 1f;
+        float bodyTop = enemies.y[i] + enemies.height[i] - 1f;
+
+        int minTileY = (int) (bodyBottom / GameConfig.TILE_SIZE);
+        int maxTileY = (int) (bodyTop / GameConfig.TILE_SIZE);
+
+        return collider.isColumnBlocked(tileX, minTileY, maxTileY, Tiles.FLAG_SOLID);
+    }
+
+    private void updateEnemyMovementAI(TileCollider collider, int i, float deltaTime, boolean coarse) {
+        if (enemies.isDead[i]) {
+            enemies.isMoving[i] = false;
+            return;
+        }
+        if (enemies.stunSeconds[i] > 0f) {
+            enemies.isMoving[i] = false;
+            return;
+        }
+        if (enemies.isAttacking[i]) {
+            enemies.isMoving[i] = false;
+            return;
+        }
+
+        float enemyCenterX = enemies.x[i] + enemies.width[i] / 2f;
+        float playerCenterX = player.centerX();
+
+        float distX = playerCenterX - enemyCenterX;
+        float absDistX = Math.abs(distX);
+
+        // IMPORTANT: only chase if player is on the same platform (and never while off screen)
+        boolean samePlatform = !coarse && isPlayerOnSamePlatformAsEnemy(i);
+
+        // Chase toggle (only if same platform)
+        if (!enemies.isChasing[i] && samePlatform && absDistX <= enemies.aggroRangePixels[i]) {
+            enemies.isChasing[i] = true;
+        } else if (enemies.isChasing[i]) {
+            // stop chasing if player left platform OR got too far
+            if (!samePlatform || absDistX >= enemies.disengageRangePixels[i]) {
+                enemies.isChasing[i] = false;
+            }
+        }
+
+        float speed;
+        int dir;
+
+        if (enemies.isChasing[i]) {
+            dir = (distX >= 0f) ? 1 : -1;
+            speed = enemies.chaseSpeed[i];
+
+            // NEW: do NOT chase off ledges or into walls
+            if (isEnemyBlockedAhead(collider, i, dir)) {
+                enemies.isMoving[i] = false;
+                enemies.facingRight[i] = dir > 0;
+                return;
+            }
+        } else {
+            dir = enemies.moveDir[i];
+            speed = enemies.patrolSpeed[i];
+
+            if (enemies.x[i] <= enemies.patrolLeftX[i]) {
+                dir = 1;
+            }
+            if (enemies.x[i] >= enemies.patrolRightX[i]) {
+                dir = -1;
+            }
+
+            if (isEnemyBlockedAhead(collider, i, dir)) {
+                dir = -dir;
+            }
+        }
+
+        float dx = dir * speed * deltaTime;
+        float newX = enemies.x[i] + dx;
+
+        if (enemyWouldCollideAtX(collider, i, newX)) {
+            enemies.moveDir[i] = -dir;
+            enemies.isMoving[i] = false;
+            return;
+        }
+
+        enemies.x[i] = newX;
+
+        if (enemies.x[i] < 0f) {
+            enemies.x[i] = 0f;
+            dir = 1;
+        }
+        if (enemies.x[i] + enemies.width[i] > worldWidthPixels) {
+            enemies.x[i] = worldWidthPixels - enemies.width[i];
+            dir = -1;
+        }
+
+        enemies.moveDir[i] = dir;
+        enemies.facingRight[i] = dir > 0;
+        enemies.isMoving[i] = true;
+    }
+
+
+    // ----------------------- HITBOX UPDATES -----------------------
+    private void updatePlayerHurtbox() {
+        player.updateHurtbox();
+    }
+
+    private void updatePlayerSwordHitbox() {
+        if (!player.isAttacking) {
+            player.clearSwordHitbox();
+            return;
+        }
+
+        float swordX;
+        if (player.facingRight) {
+            swordX = player.x + player.width + SWORD_FORWARD_OFFSET;
+        } else {
+            swordX = player.x - SWORD_FORWARD_OFFSET - SWORD_WIDTH;
+        }
+
+        float swordY = player.y + SWORD_VERTICAL_OFFSET;
+
+        player.swordHitbox.set(swordX, swordY, SWORD_WIDTH, SWORD_HEIGHT);
+    }
+
+    void updateEnemyHitboxes() {
+        int i = 0;
+        while (i < enemies.awakeCount) {
+            // Hurtbox is just (x, y, width, height); only the sword needs building
+
+            // No sword hitbox when dead
+            if (enemies.isDead[i]) {
+                enemies.clearSwordHitbox(i);
+                i = i + 1;
+                continue;
+            }
+
+            if (enemies.isAttacking[i]) {
+                float swordX;
+                if (enemies.facingRight[i]) {
+                    swordX = enemies.x[i] + enemies.width[i] + ENEMY_SWORD_FORWARD_OFFSET;
+                } else {
+                    swordX = enemies.x[i] - ENEMY_SWORD_FORWARD_OFFSET - ENEMY_SWORD_WIDTH;
+                }
+
+                float swordY = enemies.y[i] + ENEMY_SWORD_VERTICAL_OFFSET;
+
+                enemies.swordX[i] = swordX;
+                enemies.swordY[i] = swordY;
+                enemies.swordWidth[i] = ENEMY_SWORD_WIDTH;
+                enemies.swordHeight[i] = ENEMY_SWORD_HEIGHT;
+            } else {
+                enemies.clearSwordHitbox(i);
+            }
+
+            i = i + 1;
+        }
+    }
+
+    // ----------------------- COMBAT -----------------------
+    void rebuildCombatHash() {
+        combatHash.clear();
+
+        // Sleepers are far off screen, nowhere near the player's sword or hurtbox
+        int i = 0;
+        while (i < enemies.awakeCount) {
+            // Dead enemies can't hit or be hit
+            if (enemies.isDead[i]) {
+                i = i + 1;
+                continue;
+            }
+
+            float left = enemies.x[i];
+            float bottom = enemies.y[i];
+            float right = left + enemies.width[i];
+            float top = bottom + enemies.height[i];
+
+            if (enemies.hasSword(i)) {
+                left = Math.min(left, enemies.swordX[i]);
+                bottom = Math.min(bottom, enemies.swordY[i]);
+                right = Math.max(right, enemies.swordX[i] + enemies.swordWidth[i]);
+                top = Math.max(top, enemies.swordY[i] + enemies.swordHeight[i]);
+            }
+
+            combatHash.insert(i, left, bottom, right - left, top - bottom);
+
+            i = i + 1;
+        }
+    }
+
+    private static boolean overlaps(Rectangle r, float x, float y, float width, float height) {
+        return r.x < x + width && r.x + r.width > x && r.y < y + height && r.y + r.height > y;
+    }
+
+    void handlePlayerSwordHits() {
+        if (!player.isAttacking) {
+            return;
+        }
+
+        Rectangle sword = player.swordHitbox;
+        combatHash.query(sword.x, sword.y, sword.width, sword.height, nearbyEnemies);
+
+        int n = 0;
+        while (n < nearbyEnemies.size) {
+            int i = nearbyEnemies.items[n];
+            n = n + 1;
+
+            if (enemies.isDead[i]) {
+                continue;
+            }
+
+            if (!enemies.wasHitThisAttack[i] && overlaps(player.swordHitbox, enemies.x[i], enemies.y[i], enemies.width[i], enemies.height[i])) {
+                enemies.hp[i] = enemies.hp[i] - 1;
+                enemies.wasHitThisAttack[i] = true;
+
+                enemies.stunSeconds[i] = ENEMY_STUN_DURATION;
+
+                float enemyCenterX = enemies.x[i] + enemies.width[i] / 2f;
+                float playerCenterX = player.centerX();
+
+                if (enemyCenterX < playerCenterX) {
+                    enemies.knockbackVelX[i] = -ENEMY_KNOCKBACK_SPEED;
+                } else {
+                    enemies.knockbackVelX[i] = ENEMY_KNOCKBACK_SPEED;
+                }
+
+                // Cancel swing when hit
+                enemies.isAttacking[i] = false;
+                enemies.attackTimeSeconds[i] = 0f;
+                enemies.clearSwordHitbox(i);
+
+                // The fight wakes the neighbours. Only slots at or past the awake boundary move,
+                // so i and the combat hash's awake indices stay valid
+                wakeEnemiesNear(enemyCenterX, enemies.y[i] + enemies.height[i] / 2f,
+                    GameConfig.ENEMY_ALERT_RADIUS_TILES * GameConfig.TILE_SIZE);
+
+                if (enemies.hp[i] <= 0) {
+                    enemies.startDeath(i);
+                }
+            }
+
+        }
+    }
+
+    void handleEnemySwordHitsPlayer() {
+        if (player.globalHurtLockSeconds > 0f) {
+            return;
+        }
+        if (player.swordHurtCooldownSeconds > 0f) {
+            return;
+        }
+
+        Rectangle hurtbox = player.hurtbox;
+        combatHash.query(hurtbox.x, hurtbox.y, hurtbox.width, hurtbox.height, nearbyEnemies);
+
+        int n = 0;
+        while (n < nearbyEnemies.size) {
+            int i = nearbyEnemies.items[n];
+            n = n + 1;
+
+            if (enemies.isDead[i]) {
+                continue;
+            }
+
+            if (enemies.hasSword(i)) {
+                if (overlaps(player.hurtbox, enemies.swordX[i], enemies.swordY[i], enemies.swordWidth[i], enemies.swordHeight[i])) {
+                    player.hp = player.hp - 1;
+
+                    player.stunSeconds = PLAYER_STUN_DURATION;
+
+                    float enemyCenterX = enemies.x[i] + enemies.width[i] / 2f;
+                    float playerCenterX = player.centerX();
+
+                    if (playerCenterX < enemyCenterX) {
+                        player.knockbackVelX = -PLAYER_KNOCKBACK_SPEED;
+                    } else {
+                        player.knockbackVelX = PLAYER_KNOCKBACK_SPEED;
+                    }
+
+                    player.globalHurtLockSeconds = PLAYER_GLOBAL_HURT_LOCK;
+                    player.swordHurtCooldownSeconds = PLAYER_SWORD_HURT_COOLDOWN;
+
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.anthony.platformer.data;
 
 public final class GameConfig {
-    // constants: tile size, viewport, gravity
+    // constants: tile size, viewport, gravity, simulation rate
 
     private GameConfig() {}
 
@@ -11,4 +11,55 @@ public final class GameConfig {
     public static final float VIEWPORT_HEIGHT = 200f;
 
     public static final float GRAVITY = -800f;
+
+    // Fixed simulation rate, independent of the monitor refresh rate
+    public static final int SIM_TICKS_PER_SECOND = 60;
+    // At most this many catch-up steps per rendered frame; anything beyond is dropped
+    public static final int SIM_MAX_STEPS_PER_FRAME = 5;
+    // Frame times above this (hitches) are clamped before they reach the accumulator
+    public static final float SIM_MAX_FRAME_SECONDS = 0.25f;
+    // Run the simulation on its own thread (SimulationThread) instead of inside render()
+    public static final boolean SIM_THREADED = false;
+    // Streamed levels: tiles copied into each render snapshot beyond the view's edge, so the camera
+    // can run a little ahead of the last tick without showing holes
+    public static final int RENDER_TILE_MARGIN_TILES = 4;
+
+    // Frame profiler: the overlay's percentiles cover this many recent frames, recomputed every
+    // PROFILER_OVERLAY_REFRESH_FRAMES frames
+    public static final int PROFILER_WINDOW_FRAMES = 300;
+    public static final int PROFILER_OVERLAY_REFRESH_FRAMES = 30;
+
+    // Enemy size in pixels, and how far (in tiles) either side of its spawn an enemy patrols
+    public static final float ENEMY_WIDTH = 16f;
+    public static final float ENEMY_HEIGHT = 16f;
+    public static final int ENEMY_PATROL_RADIUS_TILES = 6;
+
+    // Enemy activity tiers, by distance (in tiles) from the edge of the view: full rate within the
+    // first margin, reduced rate (one catch-up step every ENEMY_REDUCED_STEP_TICKS) within the second,
+    // asleep beyond. Sleepers are checked for proximity round-robin, each about every ENEMY_SLEEP_CHECK_TICKS.
+    public static final int ENEMY_FULL_MARGIN_TILES = 4;
+    public static final int ENEMY_REDUCED_MARGIN_TILES = 24;
+    public static final int ENEMY_REDUCED_STEP_TICKS = 4;
+    public static final int ENEMY_SLEEP_CHECK_TICKS = 15;
+    // A hit wakes enemies this close to the victim and keeps them at full rate this long
+    public static final int ENEMY_ALERT_RADIUS_TILES = 8;
+    public static final float ENEMY_ALERT_SECONDS = 2f;
+    // The enemy update goes parallel (ForkJoin) from this many awake enemies, in batches of this many
+    public static final int ENEMY_PARALLEL_THRESHOLD = 512;
+    public static final int ENEMY_PARALLEL_BATCH = 128;
+
+    // Combat broadphase cell size, in tiles (an enemy plus its sword fits in a 2x2 block of cells)
+    public static final int COMBAT_CELL_TILES = 4;
+
+    // Streamed levels: maps this big (in tiles) are compiled to chunk files and paged in around the player
+    public static final int STREAM_LEVEL_MIN_TILES = 256 * 256;
+    // Chunk edge in tiles (power of two)
+    public static final int STREAM_CHUNK_TILES = 32;
+    // Resident chunk budget (x 1 KB at 32x32); least recently used chunks are dropped past this
+    public static final int STREAM_RESIDENT_CHUNKS = 96;
+    // Chunks kept loaded ahead in every direction around the player (covers the view at max zoom)
+    public static final int STREAM_PREFETCH_RADIUS_CHUNKS = 2;
+
+    // Built levels kept around for revisits (at least 2: the current one and the one being entered)
+    public static final int LEVEL_CACHE_SIZE = 4;
 }
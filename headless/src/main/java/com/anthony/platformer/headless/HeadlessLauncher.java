@@ -0,0 +1,62 @@
+package com.anthony.platformer.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Launches the headless application. Runs the game simulation without a window or GPU.
+ *
+ * Args: [ticks] [level] for a soak run, or "scenarios [ticks] [COLSxROWS:ENEMIES[@SEED] ...]"
+ * for the stress scenarios (see ScenarioRunner).
+ */
+public class HeadlessLauncher {
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("scenarios")) {
+            createScenarioApplication(args);
+            return;
+        }
+
+        int ticks = 100000;
+        int levelNumber = 1;
+
+        if (args.length > 0) {
+            ticks = Integer.parseInt(args[0]);
+        }
+        if (args.length > 1) {
+            levelNumber = Integer.parseInt(args[1]);
+        }
+
+        createApplication(ticks, levelNumber);
+    }
+
+    private static HeadlessApplication createApplication(int ticks, int levelNumber) {
+        return new HeadlessApplication(new SimulationSoak(ticks, levelNumber), getDefaultConfiguration());
+    }
+
+    private static HeadlessApplication createScenarioApplication(String[] args) {
+        int ticks = 3000;
+        int first = 1;
+        if (args.length > 1 && args[1].matches("\\d+")) {
+            ticks = Integer.parseInt(args[1]);
+            first = 2;
+        }
+
+        List<String> specs = new ArrayList<String>();
+        int i = first;
+        while (i < args.length) {
+            specs.add(args[i]);
+            i = i + 1;
+        }
+
+        return new HeadlessApplication(new ScenarioRunner(ticks, specs), getDefaultConfiguration());
+    }
+
+    private static HeadlessApplicationConfiguration getDefaultConfiguration() {
+        HeadlessApplicationConfiguration configuration = new HeadlessApplicationConfiguration();
+        configuration.updatesPerSecond = -1; // When this value is negative, render() is never called.
+        return configuration;
+    }
+}
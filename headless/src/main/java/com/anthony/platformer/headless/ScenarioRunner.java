@@ -0,0 +1,215 @@
+package com.anthony.platformer.headless;
+
+import com.anthony.platformer.InputState;
+import com.anthony.platformer.LevelGenerator;
+import com.anthony.platformer.LevelRegistry;
+import com.anthony.platformer.World;
+import com.anthony.platformer.data.GameConfig;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the simulation on generated stress levels (LevelGenerator) and reports, per scenario: build
+ * time, ticks per second, p50 / p99 / worst tick time and heap usage. Same scripted input as
+ * SimulationSoak. Everything happens in create(); the app exits when the last scenario is done.
+ *
+ * A scenario is "COLSxROWS:ENEMIES" with an optional "@SEED", e.g. "10000x1000:4000@7".
+ */
+public class ScenarioRunner extends ApplicationAdapter {
+
+    private static final float TICK_SECONDS = 1f / GameConfig.SIM_TICKS_PER_SECOND;
+
+    // Ticks run (and thrown away) before measuring, so the JIT has settled
+    private static final int WARMUP_TICKS = 600;
+
+    private static final String[] DEFAULT_SCENARIOS = {
+        "256x32:16",
+        "1000x100:250",
+        "2000x200:1000",
+        "10000x1000:4000",
+    };
+
+    private final List<Scenario> scenarios;
+    private final int ticks;
+
+    private static class Scenario {
+        final String name;
+        final int cols;
+        final int rows;
+        final int enemies;
+        final long seed;
+
+        Scenario(String name, int cols, int rows, int enemies, long seed) {
+            this.name = name;
+            this.cols = cols;
+            this.rows = rows;
+            this.enemies = enemies;
+            this.seed = seed;
+        }
+    }
+
+    /**
+     * @param specs scenarios to run (see the class comment); empty = a default ladder up to 10000x1000
+     */
+    public ScenarioRunner(int ticks, List<String> specs) {
+        if (ticks <= 0) {
+            throw new IllegalArgumentException("ticks must be > 0: " + ticks);
+        }
+
+        this.ticks = ticks;
+        this.scenarios = new ArrayList<Scenario>();
+
+        List<String> names = specs.isEmpty() ? Arrays.asList(DEFAULT_SCENARIOS) : specs;
+        for (String spec : names) {
+            scenarios.add(parse(spec));
+        }
+    }
+
+    @Override
+    public void create() {
+        Gdx.app.log("ScenarioRunner", scenarios.size() + " scenarios, " + ticks + " measured ticks each after "
+            + WARMUP_TICKS + " warmup");
+
+        int n = 0;
+        while (n < scenarios.size()) {
+            run(scenarios.get(n), n + 1);
+            n = n + 1;
+        }
+
+        Gdx.app.exit();
+    }
+
+    private void run(Scenario scenario, int levelId) {
+        collectGarbage();
+        long heapBeforeBytes = usedHeapBytes();
+
+        long buildStartNanos = TimeUtils.nanoTime();
+
+        LevelRegistry registry = new LevelRegistry();
+        registry.add(LevelGenerator.info(levelId, scenario.seed, scenario.cols, scenario.rows, scenario.enemies));
+        World world = new World(registry, levelId);
+
+        long buildNanos = TimeUtils.nanoTime() - buildStartNanos;
+
+        collectGarbage();
+        long heapBuiltBytes = usedHeapBytes();
+        resetPeakHeap();
+
+        InputState input = new InputState();
+
+        int tick = 0;
+        while (tick < WARMUP_TICKS) {
+            SimulationSoak.scriptInput(tick, input);
+            world.step(TICK_SECONDS, input);
+            tick = tick + 1;
+        }
+
+        long[] tickNanos = new long[ticks];
+        long startNanos = TimeUtils.nanoTime();
+
+        int measured = 0;
+        while (measured < ticks) {
+            SimulationSoak.scriptInput(tick, input);
+
+            long before = TimeUtils.nanoTime();
+            world.step(TICK_SECONDS, input);
+            tickNanos[measured] = TimeUtils.nanoTime() - before;
+
+            tick = tick + 1;
+            measured = measured + 1;
+        }
+
+        double seconds = (TimeUtils.nanoTime() - startNanos) / 1_000_000_000.0;
+        long peakHeapBytes = peakHeapBytes();
+
+        Arrays.sort(tickNanos);
+
+        Gdx.app.log("ScenarioRunner", scenario.name + ": built in " + millis(buildNanos) + " ms, "
+            + String.format("%.0f", ticks / seconds) + " ticks/s, tick p50 " + millis(percentile(tickNanos, 50))
+            + " ms / p99 " + millis(percentile(tickNanos, 99)) + " ms / max " + millis(tickNanos[ticks - 1])
+            + " ms, heap level " + megabytes(Math.max(0L, heapBuiltBytes - heapBeforeBytes)) + " MB / peak "
+            + megabytes(peakHeapBytes) + " MB, enemies " + world.getEnemies().size
+            + " (" + world.getEnemies().awakeCount + " awake), player hp " + world.getPlayer().hp);
+
+        world.dispose();
+    }
+
+    private static Scenario parse(String spec) {
+        try {
+            long seed = 1;
+            String rest = spec;
+
+            int at = rest.indexOf('@');
+            if (at >= 0) {
+                seed = Long.parseLong(rest.substring(at + 1));
+                rest = rest.substring(0, at);
+            }
+
+            int colon = rest.indexOf(':');
+            int x = rest.indexOf('x');
+            if (colon < 0 || x < 0 || x > colon) {
+                throw new IllegalArgumentException("Expected COLSxROWS:ENEMIES[@SEED], got \"" + spec + "\"");
+            }
+
+            int cols = Integer.parseInt(rest.substring(0, x));
+            int rows = Integer.parseInt(rest.substring(x + 1, colon));
+            int enemies = Integer.parseInt(rest.substring(colon + 1));
+            return new Scenario(spec, cols, rows, enemies, seed);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected COLSxROWS:ENEMIES[@SEED], got \"" + spec + "\"", e);
+        }
+    }
+
+    // Nearest-rank percentile of sorted values
+    private static long percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.1f", bytes / (1024.0 * 1024.0));
+    }
+
+    // ---------------- HEAP ----------------
+
+    private static void collectGarbage() {
+        System.gc();
+        System.gc();
+    }
+
+    private static long usedHeapBytes() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    // Sum of the heap pools' peaks since resetPeakHeap (the pools peak at different moments, so an upper bound)
+    private static long peakHeapBytes() {
+        long bytes = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                bytes = bytes + pool.getPeakUsage().getUsed();
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,70 @@
+package com.anthony.platformer.headless;
+
+import com.anthony.platformer.InputState;
+import com.anthony.platformer.World;
+import com.anthony.platformer.data.GameConfig;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Steps the World as fast as possible with scripted input and reports ticks per second.
+ * Everything happens in create(); the app exits when the run is done.
+ */
+public class SimulationSoak extends ApplicationAdapter {
+
+    private static final float TICK_SECONDS = 1f / GameConfig.SIM_TICKS_PER_SECOND;
+
+    private final int ticks;
+    private final int levelNumber;
+
+    public SimulationSoak(int ticks, int levelNumber) {
+        this.ticks = ticks;
+        this.levelNumber = levelNumber;
+    }
+
+    @Override
+    public void create() {
+        World world = new World(levelNumber);
+        InputState input = new InputState();
+
+        long startNanos = TimeUtils.nanoTime();
+
+        int tick = 0;
+        while (tick < ticks) {
+            scriptInput(tick, input);
+            world.step(TICK_SECONDS, input);
+            tick = tick + 1;
+        }
+
+        long elapsedNanos = TimeUtils.nanoTime() - startNanos;
+        double seconds = elapsedNanos / 1_000_000_000.0;
+
+        Gdx.app.log("SimulationSoak", ticks + " ticks in " + String.format("%.3f", seconds) + " s ("
+            + String.format("%.0f", ticks / seconds) + " ticks/s), level " + world.getCurrentLevelNumber()
+            + ", enemies left " + world.getEnemies().size + " (" + world.getEnemies().awakeCount + " awake)"
+            + ", player hp " + world.getPlayer().hp
+            + ", level loads cached " + world.getLevelLoader().getCacheHits()
+            + " / preloaded " + world.getLevelLoader().getHits()
+            + " / waited for " + world.getLevelLoader().getWaits()
+            + " / not started " + world.getLevelLoader().getMisses());
+
+        world.dispose();
+        Gdx.app.exit();
+    }
+
+    /**
+     * Walks back and forth in 4 second sweeps, jumps every second and swings twice a second.
+     * ScenarioRunner drives its runs with the same script.
+     */
+    static void scriptInput(int tick, InputState input) {
+        input.clear();
+
+        boolean goingRight = (tick / 240) % 2 == 0;
+        input.right = goingRight;
+        input.left = !goingRight;
+
+        input.jump = tick % 60 < 5;
+        input.attack = tick % 30 < 3;
+    }
+}
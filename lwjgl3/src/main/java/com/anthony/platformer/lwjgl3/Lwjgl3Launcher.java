@@ -3,16 +3,24 @@ package com.anthony.platformer.lwjgl3;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import com.anthony.platformer.PlatformerGame;
+import com.anthony.platformer.data.GameConfig;
 
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
         if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
-        createApplication();
+        createApplication(args);
     }
 
-    private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new PlatformerGame(), getDefaultConfiguration());
+    private static Lwjgl3Application createApplication(String[] args) {
+        // --sim-thread: simulate on a separate thread from drawing (see SimulationThread)
+        boolean threadedSimulation = GameConfig.SIM_THREADED;
+        for (String arg : args) {
+            if (arg.equals("--sim-thread")) {
+                threadedSimulation = true;
+            }
+        }
+        return new Lwjgl3Application(new PlatformerGame(threadedSimulation), getDefaultConfiguration());
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {